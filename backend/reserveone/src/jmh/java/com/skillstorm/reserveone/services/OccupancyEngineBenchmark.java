@@ -0,0 +1,137 @@
+package com.skillstorm.reserveone.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.skillstorm.reserveone.dto.DailyOccupancyDTO;
+
+/**
+ * Compares {@link OccupancyEngine} with the per-night loop the occupancy report used before
+ * it: one {@code HashMap<LocalDate, DailyOccupancyDTO>} per hotel, with a new record put for
+ * every night, arrival and departure of every stay.
+ *
+ * <p>Both compute occupied rooms, arrivals and departures per hotel and day over a one-year
+ * window from the same synthetic stays of 1 to 14 nights. The engine also sums revenue.
+ *
+ * <p>Run with {@code mvn -Pjmh compile exec:exec}; add {@code -Djmh.args="OccupancyEngine -prof gc"}
+ * to compare allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OccupancyEngineBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+    private static final int WINDOW_DAYS = 365;
+    private static final int MAX_NIGHTS = 14;
+
+    @Param({ "10000", "100000" })
+    private int stays;
+
+    @Param({ "1", "50" })
+    private int hotelCount;
+
+    private LocalDate lastDay;
+    private UUID[] hotelIds;
+    private LocalDate[] startDates;
+    private LocalDate[] endDates;
+    private BigDecimal[] amounts;
+
+    @Setup
+    public void generateStays() {
+        Random random = new Random(42);
+        lastDay = FIRST_DAY.plusDays(WINDOW_DAYS - 1);
+
+        UUID[] hotels = new UUID[hotelCount];
+        for (int i = 0; i < hotelCount; i++) {
+            hotels[i] = new UUID(0, i + 1);
+        }
+
+        hotelIds = new UUID[stays];
+        startDates = new LocalDate[stays];
+        endDates = new LocalDate[stays];
+        amounts = new BigDecimal[stays];
+        for (int i = 0; i < stays; i++) {
+            int nights = 1 + random.nextInt(MAX_NIGHTS);
+            hotelIds[i] = hotels[random.nextInt(hotelCount)];
+            startDates[i] = FIRST_DAY.plusDays(random.nextInt(WINDOW_DAYS - nights));
+            endDates[i] = startDates[i].plusDays(nights);
+            amounts[i] = BigDecimal.valueOf(100L * nights + random.nextInt(100), 2);
+        }
+    }
+
+    @Benchmark
+    public void perNightMap(Blackhole blackhole) {
+        Map<UUID, Map<LocalDate, DailyOccupancyDTO>> hotels = new HashMap<>();
+        for (int i = 0; i < stays; i++) {
+            Map<LocalDate, DailyOccupancyDTO> days = hotels.computeIfAbsent(hotelIds[i], id -> {
+                Map<LocalDate, DailyOccupancyDTO> empty = new HashMap<>();
+                for (LocalDate date = FIRST_DAY; !date.isAfter(lastDay); date = date.plusDays(1)) {
+                    empty.put(date, new DailyOccupancyDTO(date, 0, 0, 0.0, 0, 0));
+                }
+                return empty;
+            });
+            LocalDate resStart = startDates[i];
+            LocalDate resEnd = endDates[i];
+
+            DailyOccupancyDTO arrival = days.get(resStart);
+            if (arrival != null) {
+                days.put(resStart, new DailyOccupancyDTO(arrival.date(), arrival.occupiedRooms(),
+                    arrival.totalRooms(), arrival.occupancyRate(), arrival.checkIns() + 1, arrival.checkOuts()));
+            }
+            DailyOccupancyDTO departure = days.get(resEnd);
+            if (departure != null) {
+                days.put(resEnd, new DailyOccupancyDTO(departure.date(), departure.occupiedRooms(),
+                    departure.totalRooms(), departure.occupancyRate(), departure.checkIns(), departure.checkOuts() + 1));
+            }
+            for (LocalDate day = resStart; day.isBefore(resEnd) && !day.isAfter(lastDay); day = day.plusDays(1)) {
+                DailyOccupancyDTO night = days.get(day);
+                if (night != null) {
+                    days.put(day, new DailyOccupancyDTO(night.date(), night.occupiedRooms() + 1,
+                        night.totalRooms(), night.occupancyRate(), night.checkIns(), night.checkOuts()));
+                }
+            }
+        }
+        for (Map<LocalDate, DailyOccupancyDTO> days : hotels.values()) {
+            for (DailyOccupancyDTO day : days.values()) {
+                blackhole.consume(day);
+            }
+        }
+    }
+
+    @Benchmark
+    public void differenceArrays(Blackhole blackhole) {
+        OccupancyEngine engine = new OccupancyEngine(FIRST_DAY, lastDay);
+        for (int i = 0; i < stays; i++) {
+            engine.addStay(hotelIds[i], startDates[i], endDates[i], amounts[i]);
+        }
+        engine.forEachDay((hotelId, date, occupiedRooms, arrivals, departures, checkIns, checkOuts,
+                cancellations, revenue) -> {
+            blackhole.consume(occupiedRooms);
+            blackhole.consume(arrivals);
+            blackhole.consume(departures);
+            blackhole.consume(revenue);
+        });
+    }
+}
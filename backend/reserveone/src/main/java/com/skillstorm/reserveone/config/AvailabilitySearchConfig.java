@@ -0,0 +1,33 @@
+package com.skillstorm.reserveone.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executor for the workers of a cross-hotel availability search.
+ *
+ * <p>Every worker borrows a database connection, so the pool is kept below the
+ * Hikari pool size (10 by default) to leave connections for the rest of the app.
+ * A search queues at most {@code availability.search.parallelism} workers, which take
+ * hotels one by one, so the queue only fills under many concurrent searches. Workers
+ * beyond a full queue are rejected rather than run on the request thread; the search
+ * goes on with the workers it got and fails with 503 only if it got none.
+ */
+@Configuration
+public class AvailabilitySearchConfig {
+
+    @Bean(name = "availabilitySearchExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor availabilitySearchExecutor(
+            @Value("${availability.search.pool-size:6}") int poolSize,
+            @Value("${availability.search.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("availability-search-");
+        executor.initialize();
+        return executor;
+    }
+}
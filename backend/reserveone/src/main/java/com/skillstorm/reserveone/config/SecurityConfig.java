@@ -286,10 +286,13 @@ public class SecurityConfig {
 
                         // Public endpoints
                         .requestMatchers(HttpMethod.GET, "/rooms/available").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/rooms/available/*").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/rooms/available/batch").permitAll()
                         .requestMatchers(HttpMethod.GET, "/rooms/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/rooms/hotel/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/hotels").permitAll()
                         .requestMatchers(HttpMethod.GET, "/hotels/*").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/hotels/*/availability-calendar").permitAll()
 
                         .anyRequest().authenticated())
                 .oauth2Login(oauth -> oauth
@@ -380,9 +383,12 @@ public class SecurityConfig {
                 "Accept",
                 "Origin",
                 "Referer",
-                "Stripe-Signature"));
+                "Stripe-Signature",
+                "Idempotency-Key",
+                "If-Match",
+                "If-None-Match"));
 
-        config.setExposedHeaders(List.of("Set-Cookie", "XSRF-TOKEN"));
+        config.setExposedHeaders(List.of("Set-Cookie", "XSRF-TOKEN", "ETag", "X-Next-Cursor", "X-Skipped-Hotels"));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
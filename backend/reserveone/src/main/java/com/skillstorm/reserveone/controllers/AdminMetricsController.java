@@ -1,26 +1,42 @@
 package com.skillstorm.reserveone.controllers;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.skillstorm.reserveone.dto.DailyStatsMismatchDTO;
 import com.skillstorm.reserveone.dto.OccupancyReportDTO;
 import com.skillstorm.reserveone.dto.OperationalMetricsDTO;
+import com.skillstorm.reserveone.services.AdminMetricsBroadcaster;
 import com.skillstorm.reserveone.services.AdminMetricsService;
+import com.skillstorm.reserveone.services.HotelDailyStatsService;
 
 @RestController
 @RequestMapping("/admin/metrics")
 public class AdminMetricsController {
 
     private final AdminMetricsService service;
+    private final HotelDailyStatsService statsService;
+    private final AdminMetricsBroadcaster broadcaster;
 
-    public AdminMetricsController(AdminMetricsService service) {
+    public AdminMetricsController(
+            AdminMetricsService service,
+            HotelDailyStatsService statsService,
+            AdminMetricsBroadcaster broadcaster) {
         this.service = service;
+        this.statsService = statsService;
+        this.broadcaster = broadcaster;
     }
 
     @GetMapping
@@ -29,6 +45,13 @@ public class AdminMetricsController {
         return service.getOperationalMetrics(hotelId);
     }
 
+    // Live updates of the figures above and of the past week's cancellations
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMetrics(
+            @RequestParam(required = false) UUID hotelId) {
+        return broadcaster.subscribe(hotelId);
+    }
+
     @GetMapping("/occupancy-report")
     public OccupancyReportDTO getOccupancyReport(
             @RequestParam(required = false) UUID hotelId,
@@ -49,4 +72,27 @@ public class AdminMetricsController {
             @RequestParam(required = false) UUID hotelId) {
         return service.getCancellationsInPastWeek(hotelId);
     }
+
+    // Days on which the rollup behind the occupancy report disagrees with the reservations
+    @GetMapping("/daily-stats/verify")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<DailyStatsMismatchDTO> verifyDailyStats(
+            @RequestParam(required = false) UUID hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        // Same default window as the occupancy report
+        if (startDate == null) {
+            startDate = LocalDate.now().minusDays(30);
+        }
+        if (endDate == null) {
+            endDate = LocalDate.now();
+        }
+        return statsService.verify(hotelId, startDate, endDate);
+    }
+
+    @PostMapping("/daily-stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> rebuildDailyStats() {
+        return Map.of("rows", statsService.rebuild());
+    }
 }
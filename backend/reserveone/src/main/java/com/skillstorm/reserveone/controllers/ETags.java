@@ -0,0 +1,52 @@
+package com.skillstorm.reserveone.controllers;
+
+import java.util.List;
+
+import com.skillstorm.reserveone.exceptions.PreconditionFailedException;
+
+/**
+ * ETag helpers for versioned resources.
+ *
+ * <p>A single resource's ETag is its optimistic-lock version, so it is a strong validator
+ * usable with {@code If-Match}. A collection's ETag is a weak hash of its elements, which is
+ * enough for {@code If-None-Match} and lets pollers get a 304 without the body being
+ * serialized.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofList(List<?> items) {
+        long hash = items.size();
+        for (Object item : items) {
+            hash = hash * 1_000_003L + item.hashCode();
+        }
+        return "W/\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or null when the header is
+     * absent or {@code *}.
+     *
+     * @throws PreconditionFailedException if the header is not a strong version ETag; it can never match
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match does not match the current version of the resource");
+    }
+}
@@ -1,8 +1,10 @@
 package com.skillstorm.reserveone.controllers;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +13,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.reserveone.dto.AvailabilityCalendarDTO;
 import com.skillstorm.reserveone.dto.HotelRequestDTO;
 import com.skillstorm.reserveone.dto.HotelResponseDTO;
+import com.skillstorm.reserveone.services.AvailabilityCalendarService;
 import com.skillstorm.reserveone.services.HotelService;
 
 import jakarta.validation.Valid;
@@ -25,9 +30,11 @@ import jakarta.validation.Valid;
 public class HotelController {
 
     private final HotelService service;
+    private final AvailabilityCalendarService calendarService;
 
-    public HotelController(HotelService service) {
+    public HotelController(HotelService service, AvailabilityCalendarService calendarService) {
         this.service = service;
+        this.calendarService = calendarService;
     }
 
     @PostMapping
@@ -41,6 +48,14 @@ public class HotelController {
         return service.readOne(id);
     }
 
+    @GetMapping("/{id}/availability-calendar")
+    public AvailabilityCalendarDTO readAvailabilityCalendar(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return calendarService.getCalendar(id, from, to);
+    }
+
     @GetMapping
     public List<HotelResponseDTO> readAll() {
         return service.readAll();
@@ -5,21 +5,31 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.skillstorm.reserveone.dto.BulkReservationActionRequestDTO;
+import com.skillstorm.reserveone.dto.BulkReservationActionResultDTO;
+import com.skillstorm.reserveone.dto.GroupReservationRequestDTO;
+import com.skillstorm.reserveone.dto.GroupReservationResponseDTO;
+import com.skillstorm.reserveone.dto.ReservationPageDTO;
 import com.skillstorm.reserveone.dto.ReservationRequestDTO;
 import com.skillstorm.reserveone.dto.ReservationResponseDTO;
 import com.skillstorm.reserveone.models.Reservation.Status;
+import com.skillstorm.reserveone.services.IdempotencyService;
 import com.skillstorm.reserveone.services.ReservationService;
 
 import jakarta.validation.Valid;
@@ -28,25 +38,49 @@ import jakarta.validation.Valid;
 @RequestMapping("/reservations")
 public class ReservationController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ReservationService service;
+    private final IdempotencyService idempotencyService;
 
-    public ReservationController(ReservationService service) {
+    public ReservationController(ReservationService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ReservationResponseDTO createOne(@Valid @RequestBody ReservationRequestDTO dto) {
-        return service.createOne(dto);
+    public ReservationResponseDTO createOne(
+            @Valid @RequestBody ReservationRequestDTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /reservations", idempotencyKey, dto, () -> service.createOne(dto));
+    }
+
+    @PostMapping("/group")
+    @ResponseStatus(HttpStatus.CREATED)
+    public GroupReservationResponseDTO createGroup(
+            @Valid @RequestBody GroupReservationRequestDTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /reservations/group", idempotencyKey, dto, () -> service.createGroup(dto));
     }
 
     @GetMapping("/{id}")
-    public ReservationResponseDTO readOne(@PathVariable UUID id) {
-        return service.readOne(id);
+    public ReservationResponseDTO readOne(@PathVariable UUID id, WebRequest request) {
+        ReservationResponseDTO reservation = service.readOne(id);
+        // 304 with no body when the client's If-None-Match is current
+        if (request.checkNotModified(ETags.of(reservation.version()))) {
+            return null;
+        }
+        return reservation;
     }
 
+    /**
+     * Lists reservations one page at a time in (startDate, reservationId) order. The cursor
+     * for the next page is returned in the {@value #NEXT_CURSOR_HEADER} header, which is
+     * absent on the last page.
+     */
     @GetMapping
-    public List<ReservationResponseDTO> readAll(
+    public ResponseEntity<List<ReservationResponseDTO>> readAll(
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false) UUID hotelId,
             @RequestParam(required = false) UUID roomId,
@@ -55,35 +89,31 @@ public class ReservationController {
             @RequestParam(required = false) String guestLastName,
             @RequestParam(required = false) Status status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDateFrom,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo) {
-        
-        // If any search parameters are provided, use search method
-        boolean hasSearchParams = reservationId != null || guestLastName != null || 
-            hotelId != null || status != null || startDateFrom != null || endDateTo != null;
-        
-        if (hasSearchParams) {
-            return service.searchReservations(
-                reservationId, guestLastName, hotelId, status,
-                startDateFrom, null, null, endDateTo);
-        }
-        
-        // Otherwise use simple filters (backward compatibility)
-        if (userId != null) {
-            return service.readByUserId(userId);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDateTo,
+            // Paging
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        ReservationPageDTO page = service.searchReservations(
+            new ReservationService.SearchCriteria(userId, roomId, hotelId, reservationId, guestLastName, status,
+                startDateFrom, null, null, endDateTo),
+            cursor, limit);
+        if (request.checkNotModified(ETags.ofList(page.reservations()))) {
+            return null;
         }
-        if (hotelId != null) {
-            return service.readByHotelId(hotelId);
-        }
-        if (roomId != null) {
-            return service.readByRoomId(roomId);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
         }
-        return service.readAll();
+        return response.body(page.reservations());
     }
 
     @PutMapping("/{id}")
     public ReservationResponseDTO updateOne(@PathVariable UUID id, 
-                                           @Valid @RequestBody ReservationRequestDTO dto) {
-        return service.updateOne(id, dto);
+                                           @Valid @RequestBody ReservationRequestDTO dto,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.updateOne(id, dto, ETags.expectedVersion(ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -94,18 +124,31 @@ public class ReservationController {
 
     @PostMapping("/{id}/cancel")
     public ReservationResponseDTO cancelReservation(@PathVariable UUID id,
-                                                    @RequestParam(required = false) String reason) {
-        return service.cancelReservation(id, reason);
+                                                    @RequestParam(required = false) String reason,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.cancelReservation(id, reason, ETags.expectedVersion(ifMatch));
+    }
+
+    @PostMapping("/check-in")
+    public List<BulkReservationActionResultDTO> checkInAll(@Valid @RequestBody BulkReservationActionRequestDTO dto) {
+        return service.checkInAll(dto.reservationIds());
+    }
+
+    @PostMapping("/check-out")
+    public List<BulkReservationActionResultDTO> checkOutAll(@Valid @RequestBody BulkReservationActionRequestDTO dto) {
+        return service.checkOutAll(dto.reservationIds());
     }
 
     @PostMapping("/{id}/check-in")
-    public ReservationResponseDTO checkIn(@PathVariable UUID id) {
-        return service.checkIn(id);
+    public ReservationResponseDTO checkIn(@PathVariable UUID id,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.checkIn(id, ETags.expectedVersion(ifMatch));
     }
 
     @PostMapping("/{id}/check-out")
-    public ReservationResponseDTO checkOut(@PathVariable UUID id) {
-        return service.checkOut(id);
+    public ReservationResponseDTO checkOut(@PathVariable UUID id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.checkOut(id, ETags.expectedVersion(ifMatch));
     }
 }
 
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.skillstorm.reserveone.dto.ReservationHoldRequestDTO;
 import com.skillstorm.reserveone.dto.ReservationHoldResponseDTO;
+import com.skillstorm.reserveone.services.IdempotencyService;
 import com.skillstorm.reserveone.services.ReservationHoldService;
 
 import jakarta.validation.Valid;
@@ -26,15 +28,19 @@ import jakarta.validation.Valid;
 public class ReservationHoldController {
 
     private final ReservationHoldService service;
+    private final IdempotencyService idempotencyService;
 
-    public ReservationHoldController(ReservationHoldService service) {
+    public ReservationHoldController(ReservationHoldService service, IdempotencyService idempotencyService) {
         this.service = service;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ReservationHoldResponseDTO createOne(@Valid @RequestBody ReservationHoldRequestDTO dto) {
-        return service.createOne(dto);
+    public ReservationHoldResponseDTO createOne(
+            @Valid @RequestBody ReservationHoldRequestDTO dto,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /reservation-holds", idempotencyKey, dto, () -> service.createOne(dto));
     }
 
     @GetMapping("/{id}")
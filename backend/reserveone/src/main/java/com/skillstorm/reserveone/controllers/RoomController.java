@@ -5,7 +5,9 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,10 +17,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.skillstorm.reserveone.dto.AvailabilityBatchRequestDTO;
+import com.skillstorm.reserveone.dto.AvailabilityBatchResultDTO;
+import com.skillstorm.reserveone.dto.AvailableRoomsDTO;
+import com.skillstorm.reserveone.dto.CheapestRoomDTO;
+import com.skillstorm.reserveone.dto.FlexibleAvailabilityDTO;
 import com.skillstorm.reserveone.dto.RoomRequestDTO;
 import com.skillstorm.reserveone.dto.RoomResponseDTO;
+import com.skillstorm.reserveone.dto.RoomTypeAvailabilityDTO;
 import com.skillstorm.reserveone.services.RoomService;
 
 import jakarta.validation.Valid;
@@ -27,6 +37,8 @@ import jakarta.validation.Valid;
 @RequestMapping("/rooms")
 public class RoomController {
 
+    public static final String SKIPPED_HOTELS_HEADER = "X-Skipped-Hotels";
+
     private final RoomService service;
 
     public RoomController(RoomService service) {
@@ -40,33 +52,87 @@ public class RoomController {
     }
 
     @GetMapping("/{id}")
-    public RoomResponseDTO readOne(@PathVariable UUID id) {
-        return service.readOne(id);
+    public RoomResponseDTO readOne(@PathVariable UUID id, WebRequest request) {
+        RoomResponseDTO room = service.readOne(id);
+        // 304 with no body when the client's If-None-Match is current
+        if (request.checkNotModified(ETags.of(room.version()))) {
+            return null;
+        }
+        return room;
     }
 
     @GetMapping
     public List<RoomResponseDTO> readAll(
-            @RequestParam(required = false) UUID hotelId) {
-        if (hotelId != null) {
-            return service.readByHotelId(hotelId);
+            @RequestParam(required = false) UUID hotelId,
+            WebRequest request) {
+        List<RoomResponseDTO> rooms = hotelId != null ? service.readByHotelId(hotelId) : service.readAll();
+        if (request.checkNotModified(ETags.ofList(rooms))) {
+            return null;
         }
-        return service.readAll();
+        return rooms;
     }
 
+    /**
+     * Searches available rooms. When a search across all hotels ran out of time for some
+     * of them, the list is partial and the {@value #SKIPPED_HOTELS_HEADER} header carries
+     * the number of hotels left out.
+     */
     @GetMapping("/available")
-    public List<RoomResponseDTO> searchAvailableRooms(
+    public ResponseEntity<List<RoomResponseDTO>> searchAvailableRooms(
+            @RequestParam(required = false) UUID hotelId,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer guestCount,
+            @RequestParam(required = false) UUID roomTypeId) {
+        AvailableRoomsDTO result = service.searchAvailableRooms(hotelId, startDate, endDate, guestCount, roomTypeId);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.skippedHotels() > 0) {
+            response.header(SKIPPED_HOTELS_HEADER, String.valueOf(result.skippedHotels()));
+        }
+        return response.body(result.rooms());
+    }
+
+    @GetMapping("/available/summary")
+    public List<RoomTypeAvailabilityDTO> summarizeAvailableRooms(
             @RequestParam(required = false) UUID hotelId,
             @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) Integer guestCount,
             @RequestParam(required = false) UUID roomTypeId) {
-        return service.searchAvailableRooms(hotelId, startDate, endDate, guestCount, roomTypeId);
+        return service.summarizeAvailableRooms(hotelId, startDate, endDate, guestCount, roomTypeId);
+    }
+
+    @PostMapping("/available/batch")
+    public List<AvailabilityBatchResultDTO> searchAvailableRoomsBatch(
+            @Valid @RequestBody AvailabilityBatchRequestDTO dto) {
+        return service.searchAvailableRoomsBatch(dto.queries());
+    }
+
+    @GetMapping("/available/cheapest")
+    public List<CheapestRoomDTO> searchCheapestAvailableRooms(
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Integer guestCount,
+            @RequestParam(defaultValue = "10") int limit) {
+        return service.searchCheapestAvailableRooms(startDate, endDate, guestCount, limit);
+    }
+
+    @GetMapping("/available/flexible")
+    public List<FlexibleAvailabilityDTO> searchFlexibleAvailability(
+            @RequestParam(required = true) UUID hotelId,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate windowStart,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate windowEnd,
+            @RequestParam(required = true) int nights,
+            @RequestParam(required = false) Integer guestCount,
+            @RequestParam(required = false) UUID roomTypeId) {
+        return service.searchFlexibleAvailability(hotelId, windowStart, windowEnd, nights, guestCount, roomTypeId);
     }
 
     @PutMapping("/{id}")
     public RoomResponseDTO updateOne(@PathVariable UUID id, 
-                                    @Valid @RequestBody RoomRequestDTO dto) {
-        return service.updateOne(id, dto);
+                                    @Valid @RequestBody RoomRequestDTO dto,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.updateOne(id, dto, ETags.expectedVersion(ifMatch));
     }
 
     @DeleteMapping("/{id}")
@@ -1,9 +1,13 @@
 package com.skillstorm.reserveone.controllers;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,8 +19,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.skillstorm.reserveone.dto.RoomTypeInventoryDTO;
 import com.skillstorm.reserveone.dto.RoomTypeRequestDTO;
 import com.skillstorm.reserveone.dto.RoomTypeResponseDTO;
+import com.skillstorm.reserveone.services.RoomTypeInventoryService;
 import com.skillstorm.reserveone.services.RoomTypeService;
 
 import jakarta.validation.Valid;
@@ -26,9 +32,11 @@ import jakarta.validation.Valid;
 public class RoomTypeController {
 
     private final RoomTypeService service;
+    private final RoomTypeInventoryService inventoryService;
 
-    public RoomTypeController(RoomTypeService service) {
+    public RoomTypeController(RoomTypeService service, RoomTypeInventoryService inventoryService) {
         this.service = service;
+        this.inventoryService = inventoryService;
     }
 
     @PostMapping
@@ -51,6 +59,20 @@ public class RoomTypeController {
         return service.readAll();
     }
 
+    @GetMapping("/{id}/inventory")
+    public RoomTypeInventoryDTO readInventory(
+            @PathVariable UUID id,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return inventoryService.getInventory(id, startDate, endDate);
+    }
+
+    @PostMapping("/inventory/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Map<String, Integer> rebuildInventory() {
+        return Map.of("rows", inventoryService.rebuild());
+    }
+
     @PutMapping("/{id}")
     public RoomTypeResponseDTO updateOne(@PathVariable UUID id, 
                                         @Valid @RequestBody RoomTypeRequestDTO dto) {
@@ -8,7 +8,7 @@ import java.util.UUID;
 import com.skillstorm.reserveone.models.PaymentTransaction;
 import com.skillstorm.reserveone.models.Reservation;
 import com.skillstorm.reserveone.repositories.PaymentTransactionRepository;
-import com.skillstorm.reserveone.repositories.ReservationRepository;
+import com.skillstorm.reserveone.services.ReservationService;
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Charge;
 import com.stripe.model.Event;
@@ -40,16 +40,16 @@ public class StripeWebhookController {
     private static final Logger log = LoggerFactory.getLogger(StripeWebhookController.class);
 
     private final PaymentTransactionRepository paymentTransactionRepository;
-    private final ReservationRepository reservationRepository;
+    private final ReservationService reservationService;
 
     @Value("${stripe.webhook-secret:}")
     private String webhookSecret;
 
     public StripeWebhookController(
             PaymentTransactionRepository paymentTransactionRepository,
-            ReservationRepository reservationRepository) {
+            ReservationService reservationService) {
         this.paymentTransactionRepository = paymentTransactionRepository;
-        this.reservationRepository = reservationRepository;
+        this.reservationService = reservationService;
     }
 
     @PostMapping
@@ -312,12 +312,7 @@ public class StripeWebhookController {
 
                     UUID reservationId = tx.getReservationId();
                     if (reservationId != null) {
-                        reservationRepository.findById(reservationId).ifPresent(res -> {
-                            if (res.getStatus() != Reservation.Status.CANCELLED) {
-                                res.setStatus(Reservation.Status.CANCELLED);
-                                reservationRepository.save(res);
-                            }
-                        });
+                        reservationService.applyPaymentStatus(reservationId, Reservation.Status.CANCELLED);
                     }
 
                     return "refunded";
@@ -340,12 +335,7 @@ public class StripeWebhookController {
 
         UUID reservationId = tx.getReservationId();
         if (reservationId != null) {
-            reservationRepository.findById(reservationId).ifPresent(res -> {
-                if (res.getStatus() != Reservation.Status.CONFIRMED) {
-                    res.setStatus(Reservation.Status.CONFIRMED);
-                    reservationRepository.save(res);
-                }
-            });
+            reservationService.applyPaymentStatus(reservationId, Reservation.Status.CONFIRMED);
         }
 
         return "succeeded";
@@ -0,0 +1,10 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.UUID;
+
+public record AdminMetricsUpdateDTO(
+    UUID hotelId,
+    OperationalMetricsDTO operational,
+    int cancellationsPastWeek
+) {
+}
@@ -0,0 +1,14 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public record AvailabilityBatchRequestDTO(
+    @NotEmpty
+    @Size(max = 50)
+    List<@Valid AvailabilityQueryDTO> queries
+) {
+}
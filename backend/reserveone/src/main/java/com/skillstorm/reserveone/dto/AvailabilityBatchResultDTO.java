@@ -0,0 +1,9 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+
+public record AvailabilityBatchResultDTO(
+    AvailabilityQueryDTO query,
+    List<RoomResponseDTO> rooms
+) {
+}
@@ -0,0 +1,14 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record AvailabilityCalendarDTO(
+    UUID hotelId,
+    LocalDate from,
+    LocalDate to,
+    List<LocalDate> dates,
+    List<RoomTypeCalendarRowDTO> roomTypes
+) {
+}
@@ -0,0 +1,21 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotNull;
+
+public record AvailabilityQueryDTO(
+    UUID hotelId,
+
+    @NotNull
+    LocalDate startDate,
+
+    @NotNull
+    LocalDate endDate,
+
+    Integer guestCount,
+
+    UUID roomTypeId
+) {
+}
@@ -0,0 +1,14 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+
+/**
+ * Rooms found by an availability search. {@code skippedHotels} counts the hotels of a
+ * cross-hotel search that could not be searched before the deadline; when it is above zero
+ * the list is partial.
+ */
+public record AvailableRoomsDTO(
+    List<RoomResponseDTO> rooms,
+    int skippedHotels
+) {
+}
@@ -0,0 +1,15 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record BulkReservationActionRequestDTO(
+    @NotEmpty
+    @Size(max = 200)
+    List<@NotNull UUID> reservationIds
+) {
+}
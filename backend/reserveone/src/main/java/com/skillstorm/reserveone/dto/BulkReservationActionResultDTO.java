@@ -0,0 +1,17 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.UUID;
+
+import com.skillstorm.reserveone.models.Reservation.Status;
+
+/**
+ * Outcome for one reservation of a bulk check-in or check-out. {@code status} is the
+ * reservation's status after the request; {@code error} is set when it was not changed.
+ */
+public record BulkReservationActionResultDTO(
+    UUID reservationId,
+    boolean succeeded,
+    Status status,
+    String error
+) {
+}
@@ -0,0 +1,16 @@
+package com.skillstorm.reserveone.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record CheapestRoomDTO(
+    UUID roomId,
+    UUID hotelId,
+    UUID roomTypeId,
+    String roomNumber,
+    String floor,
+    String roomTypeName,
+    BigDecimal basePrice,
+    int maxGuests
+) {
+}
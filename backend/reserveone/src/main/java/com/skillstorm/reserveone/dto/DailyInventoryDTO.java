@@ -0,0 +1,10 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+
+public record DailyInventoryDTO(
+    LocalDate date,
+    int soldRooms,
+    int availableRooms
+) {
+}
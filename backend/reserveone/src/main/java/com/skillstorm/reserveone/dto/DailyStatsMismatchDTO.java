@@ -0,0 +1,21 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A day on which the daily rollup disagrees with the figures computed live from reservations.
+ */
+public record DailyStatsMismatchDTO(
+    LocalDate date,
+    long rollupOccupiedRooms,
+    long liveOccupiedRooms,
+    long rollupArrivals,
+    long liveArrivals,
+    long rollupDepartures,
+    long liveDepartures,
+    long rollupCheckIns,
+    long liveCheckIns,
+    long rollupCheckOuts,
+    long liveCheckOuts
+) {
+}
@@ -0,0 +1,12 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record FlexibleAvailabilityDTO(
+    LocalDate startDate,
+    LocalDate endDate,
+    UUID roomTypeId,
+    int availableRooms
+) {
+}
@@ -0,0 +1,39 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import com.skillstorm.reserveone.models.Reservation.Status;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record GroupReservationRequestDTO(
+    @NotNull
+    UUID hotelId,
+
+    @NotNull
+    UUID userId,
+
+    @NotNull
+    LocalDate startDate,
+
+    @NotNull
+    LocalDate endDate,
+
+    Status status,
+
+    @Size(min = 3, max = 3)
+    String currency,
+
+    @Size(max = 2000)
+    String specialRequests,
+
+    @NotEmpty
+    @Size(max = 80)
+    List<@Valid GroupRoomRequestDTO> rooms
+) {
+}
@@ -0,0 +1,10 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record GroupReservationResponseDTO(
+    UUID groupId,
+    List<ReservationResponseDTO> reservations
+) {
+}
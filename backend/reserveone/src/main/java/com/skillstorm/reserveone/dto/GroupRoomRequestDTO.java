@@ -0,0 +1,24 @@
+package com.skillstorm.reserveone.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record GroupRoomRequestDTO(
+    @NotNull
+    UUID roomId,
+
+    // Optional; when present it must match the room's room type
+    UUID roomTypeId,
+
+    @NotNull
+    @Min(1)
+    Integer guestCount,
+
+    @DecimalMin(value = "0.0", inclusive = true)
+    BigDecimal totalAmount
+) {
+}
@@ -0,0 +1,13 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+
+/**
+ * One page of reservations in (startDate, reservationId) order. {@code nextCursor} is null
+ * on the last page.
+ */
+public record ReservationPageDTO(
+    List<ReservationResponseDTO> reservations,
+    String nextCursor
+) {
+}
@@ -24,7 +24,8 @@ public record ReservationResponseDTO(
     OffsetDateTime cancelledAt,
     UUID cancelledByUserId,
     OffsetDateTime createdAt,
-    OffsetDateTime updatedAt
+    OffsetDateTime updatedAt,
+    Long version
 ) {
 }
 
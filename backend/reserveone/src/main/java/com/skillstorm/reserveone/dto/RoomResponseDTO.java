@@ -14,7 +14,8 @@ public record RoomResponseDTO(
     Status status,
     String notes,
     OffsetDateTime createdAt,
-    OffsetDateTime updatedAt
+    OffsetDateTime updatedAt,
+    Long version
 ) {
 }
 
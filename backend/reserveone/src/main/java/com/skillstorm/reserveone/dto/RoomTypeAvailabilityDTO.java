@@ -0,0 +1,14 @@
+package com.skillstorm.reserveone.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record RoomTypeAvailabilityDTO(
+    UUID hotelId,
+    UUID roomTypeId,
+    String roomTypeName,
+    BigDecimal basePrice,
+    int maxGuests,
+    int availableRooms
+) {
+}
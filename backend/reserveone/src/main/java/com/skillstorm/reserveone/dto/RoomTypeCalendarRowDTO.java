@@ -0,0 +1,12 @@
+package com.skillstorm.reserveone.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record RoomTypeCalendarRowDTO(
+    UUID roomTypeId,
+    String name,
+    int totalRooms,
+    List<Integer> availableRooms
+) {
+}
@@ -0,0 +1,16 @@
+package com.skillstorm.reserveone.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record RoomTypeInventoryDTO(
+    UUID roomTypeId,
+    LocalDate startDate,
+    LocalDate endDate,
+    int totalRooms,
+    int minAvailableRooms,
+    boolean soldOut,
+    List<DailyInventoryDTO> dailyInventory
+) {
+}
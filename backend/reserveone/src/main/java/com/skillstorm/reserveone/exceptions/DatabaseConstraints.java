@@ -0,0 +1,69 @@
+package com.skillstorm.reserveone.exceptions;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for recognising PostgreSQL constraint violations inside the exception chains that
+ * Spring and Hibernate wrap around them.
+ */
+public final class DatabaseConstraints {
+
+    /** SQLState PostgreSQL reports for an EXCLUDE constraint violation. */
+    public static final String EXCLUSION_VIOLATION = "23P01";
+
+    // Matches the daterange in "... conflicts with existing key (room_id, daterange(...))=(<uuid>, [2026-03-01,2026-03-05))."
+    private static final Pattern EXISTING_RANGE = Pattern.compile(
+        "conflicts with existing key .*\\[(\\d{4}-\\d{2}-\\d{2}),(\\d{4}-\\d{2}-\\d{2})\\)");
+
+    private DatabaseConstraints() {
+    }
+
+    /**
+     * Returns whether the exception was caused by a violation of the named exclusion constraint.
+     */
+    public static boolean isExclusionViolation(Throwable ex, String constraintName) {
+        for (SQLException sql : sqlExceptions(ex)) {
+            if (EXCLUSION_VIOLATION.equals(sql.getSQLState())) {
+                String message = sql.getMessage();
+                if (constraintName == null || (message != null && message.contains(constraintName))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extracts the half-open range of the existing row from an exclusion violation message,
+     * formatted as {@code [start, end)}, if the database reported it.
+     */
+    public static Optional<String> conflictingRange(Throwable ex) {
+        for (SQLException sql : sqlExceptions(ex)) {
+            if (sql.getMessage() != null) {
+                Matcher matcher = EXISTING_RANGE.matcher(sql.getMessage());
+                if (matcher.find()) {
+                    return Optional.of("[" + matcher.group(1) + ", " + matcher.group(2) + ")");
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    // SQLExceptions in the cause chain, including the chained ones a JDBC batch failure carries
+    private static List<SQLException> sqlExceptions(Throwable ex) {
+        List<SQLException> found = new ArrayList<>();
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql) {
+                for (SQLException next = sql; next != null && !found.contains(next); next = next.getNextException()) {
+                    found.add(next);
+                }
+            }
+        }
+        return found;
+    }
+}
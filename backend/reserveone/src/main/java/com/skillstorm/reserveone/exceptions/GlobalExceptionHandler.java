@@ -5,6 +5,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -31,6 +32,8 @@ import jakarta.validation.ConstraintViolationException;
  * <ul>
  * <li>{@link ResourceNotFoundException} - Returns HTTP 404 (Not Found)</li>
  * <li>{@link ResourceConflictException} - Returns HTTP 409 (Conflict)</li>
+ * <li>{@link OptimisticLockingFailureException} - Returns HTTP 409 (Conflict)</li>
+ * <li>{@link PreconditionFailedException} - Returns HTTP 412 (Precondition Failed)</li>
  * <li>{@link IllegalArgumentException} - Returns HTTP 400 (Bad Request) with
  * full error logging</li>
  * </ul>
@@ -95,6 +98,63 @@ public class GlobalExceptionHandler {
         return pd;
     }
 
+    /**
+     * Handles OptimisticLockingFailureException by returning an HTTP 409 response.
+     *
+     * <p>
+     * Raised when another request updated the same row between this request's read
+     * and its write.
+     *
+     * @param ex      The OptimisticLockingFailureException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return A ProblemDetail with HTTP 409 status
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLock(OptimisticLockingFailureException ex,
+            HttpServletRequest request) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.CONFLICT);
+        pd.setTitle("Conflict");
+        pd.setDetail("The resource was modified by another request. Reload it and try again.");
+        pd.setProperty("path", request.getRequestURI());
+        return pd;
+    }
+
+    /**
+     * Handles PreconditionFailedException by returning an HTTP 412 response.
+     *
+     * @param ex      The PreconditionFailedException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return A ProblemDetail with HTTP 412 status and exception message
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ProblemDetail handlePreconditionFailed(PreconditionFailedException ex,
+            HttpServletRequest request) {
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.PRECONDITION_FAILED);
+        pd.setTitle("Precondition Failed");
+        pd.setDetail(ex.getMessage());
+        pd.setProperty("path", request.getRequestURI());
+        return pd;
+    }
+
+    /**
+     * Handles ServiceUnavailableException by returning an HTTP 503 response.
+     *
+     * @param ex      The ServiceUnavailableException that was thrown
+     * @param request The HTTP request that triggered the exception
+     * @return A ProblemDetail with HTTP 503 status and exception message
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ProblemDetail handleServiceUnavailable(ServiceUnavailableException ex,
+            HttpServletRequest request) {
+        log.warn("Service unavailable at {}: {}", request.getRequestURI(), ex.getMessage());
+
+        ProblemDetail pd = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        pd.setTitle("Service Unavailable");
+        pd.setDetail(ex.getMessage());
+        pd.setProperty("path", request.getRequestURI());
+        return pd;
+    }
+
     /**
      * Handles IllegalArgumentException by returning an HTTP 400 response.
      * 
@@ -162,7 +222,9 @@ public class GlobalExceptionHandler {
 
         String detail = "Request violates a data constraint.";
 
-        if (dbMessage != null) {
+        if (DatabaseConstraints.isExclusionViolation(ex, null)) {
+            detail = "Request overlaps an existing booking or hold for the same room.";
+        } else if (dbMessage != null) {
             if (dbMessage.contains("uq_users_email")) {
                 detail = "Email address is already in use.";
             } else if (dbMessage.contains("foreign key")) {
@@ -0,0 +1,19 @@
+package com.skillstorm.reserveone.exceptions;
+
+/**
+ * Exception thrown when a conditional request's {@code If-Match} precondition does not hold,
+ * meaning the client is working from a stale version of the resource.
+ *
+ * <p>The exception is handled by {@link GlobalExceptionHandler} and returns an
+ * HTTP 412 (Precondition Failed) status code to the client.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    /**
+     * Constructs a new PreconditionFailedException with the specified detail message.
+     *
+     * @param message The detail message explaining which precondition failed
+     */
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
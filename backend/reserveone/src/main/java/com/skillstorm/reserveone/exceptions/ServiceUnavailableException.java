@@ -0,0 +1,20 @@
+package com.skillstorm.reserveone.exceptions;
+
+/**
+ * Exception thrown when a request cannot be answered right now because the work behind it
+ * did not finish in time, for example when every sub-search of a cross-hotel search missed
+ * its deadline.
+ *
+ * <p>The exception is handled by {@link GlobalExceptionHandler} and returns an
+ * HTTP 503 (Service Unavailable) status code to the client.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    /**
+     * Constructs a new ServiceUnavailableException with the specified detail message.
+     *
+     * @param message The detail message explaining what could not be completed
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
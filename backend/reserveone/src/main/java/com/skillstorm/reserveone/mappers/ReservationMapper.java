@@ -1,5 +1,7 @@
 package com.skillstorm.reserveone.mappers;
 
+import java.time.OffsetDateTime;
+
 import org.springframework.stereotype.Component;
 
 import com.skillstorm.reserveone.dto.ReservationRequestDTO;
@@ -9,6 +11,7 @@ import com.skillstorm.reserveone.models.Reservation;
 import com.skillstorm.reserveone.models.Room;
 import com.skillstorm.reserveone.models.RoomType;
 import com.skillstorm.reserveone.models.User;
+import com.skillstorm.reserveone.repositories.ReservationBatchRepository.ReservationRow;
 
 @Component
 public class ReservationMapper {
@@ -64,7 +67,31 @@ public class ReservationMapper {
                 reservation.getCancelledAt(),
                 reservation.getCancelledByUser() != null ? reservation.getCancelledByUser().getUserId() : null,
                 reservation.getCreatedAt(),
-                reservation.getUpdatedAt());
+                reservation.getUpdatedAt(),
+                reservation.getVersion());
+    }
+
+    // Response for a row inserted by a group booking, without reloading it
+    public ReservationResponseDTO toResponse(ReservationRow row, OffsetDateTime createdAt) {
+        return new ReservationResponseDTO(
+                row.reservationId(),
+                row.hotelId(),
+                row.userId(),
+                row.roomId(),
+                row.roomTypeId(),
+                row.startDate(),
+                row.endDate(),
+                row.guestCount(),
+                row.status(),
+                row.totalAmount(),
+                row.currency(),
+                row.specialRequests(),
+                null,
+                null,
+                null,
+                createdAt,
+                createdAt,
+                0L);
     }
 
     // UPDATE
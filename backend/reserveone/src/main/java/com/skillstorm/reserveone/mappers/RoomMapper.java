@@ -1,5 +1,9 @@
 package com.skillstorm.reserveone.mappers;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
 import org.springframework.stereotype.Component;
 
 import com.skillstorm.reserveone.dto.RoomRequestDTO;
@@ -7,6 +11,7 @@ import com.skillstorm.reserveone.dto.RoomResponseDTO;
 import com.skillstorm.reserveone.models.Hotel;
 import com.skillstorm.reserveone.models.Room;
 import com.skillstorm.reserveone.models.RoomType;
+import com.skillstorm.reserveone.repositories.projections.RoomView;
 
 @Component
 public class RoomMapper {
@@ -49,7 +54,27 @@ public class RoomMapper {
                 room.getStatus(),
                 room.getNotes(),
                 room.getCreatedAt(),
-                room.getUpdatedAt());
+                room.getUpdatedAt(),
+                room.getVersion());
+    }
+
+    // READ (projection)
+    public RoomResponseDTO toResponse(RoomView view) {
+        if (view == null) {
+            return null;
+        }
+
+        return new RoomResponseDTO(
+                view.getRoomId(),
+                view.getHotelId(),
+                view.getRoomTypeId(),
+                view.getRoomNumber(),
+                view.getFloor(),
+                Room.Status.valueOf(view.getStatus()),
+                view.getNotes(),
+                toOffsetDateTime(view.getCreatedAt()),
+                toOffsetDateTime(view.getUpdatedAt()),
+                view.getVersion());
     }
 
     // UPDATE
@@ -74,5 +99,8 @@ public class RoomMapper {
             room.setNotes(req.notes());
         }
     }
-}
 
+    private OffsetDateTime toOffsetDateTime(Instant instant) {
+        return instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
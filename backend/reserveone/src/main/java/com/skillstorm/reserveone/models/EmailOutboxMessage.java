@@ -0,0 +1,147 @@
+package com.skillstorm.reserveone.models;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.generator.EventType;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One outgoing email in the outbox. Rows are inserted in the same transaction as the
+ * change that triggers the email and delivered later by {@code EmailOutboxDispatcher};
+ * status changes are written with bulk updates by {@code EmailOutboxRepository}.
+ */
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutboxMessage {
+
+    public enum MessageType {
+        RESERVATION_CONFIRMATION,
+        // reservation_id is one reservation of the group; the email covers the whole group
+        GROUP_CONFIRMATION
+    }
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    @Id
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Generated(event = EventType.INSERT)
+    @Column(name = "outbox_id", nullable = false, updatable = false, length = 255)
+    private UUID outboxId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "message_type", nullable = false, updatable = false, length = 40)
+    private MessageType messageType;
+
+    @NotNull
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "reservation_id", nullable = false, updatable = false)
+    private UUID reservationId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @NotNull
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    // DB-owned (DEFAULT NOW(), moved forward by the dispatcher)
+    @Column(name = "next_attempt_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    @Column(name = "sent_at")
+    private OffsetDateTime sentAt;
+
+    // DB-owned (DEFAULT NOW() + trigger set_updated_at())
+    @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
+
+    protected EmailOutboxMessage() {
+    }
+
+    public EmailOutboxMessage(MessageType messageType, UUID reservationId) {
+        this.messageType = messageType;
+        this.reservationId = reservationId;
+    }
+
+    public UUID getOutboxId() {
+        return outboxId;
+    }
+
+    public MessageType getMessageType() {
+        return messageType;
+    }
+
+    public UUID getReservationId() {
+        return reservationId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public OffsetDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public OffsetDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof EmailOutboxMessage other))
+            return false;
+        return outboxId != null && outboxId.equals(other.outboxId);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "EmailOutboxMessage{outboxId=" + outboxId + ", messageType=" + messageType
+            + ", reservationId=" + reservationId + ", status=" + status + ", attempts=" + attempts + "}";
+    }
+}
@@ -0,0 +1,127 @@
+package com.skillstorm.reserveone.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * One row of the daily hotel rollup: rooms occupied on the night starting that day,
+ * booked arrivals and departures, guests actually checked in and out, cancellations made
+ * that day and revenue of the stays arriving that day. Rows are written with atomic upserts by {@code HotelDailyStatsRepository};
+ * this entity is used for reads.
+ */
+@Entity
+@Table(name = "hotel_daily_stats")
+@IdClass(HotelDailyStatsId.class)
+public class HotelDailyStats {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "hotel_id", nullable = false, updatable = false)
+    private UUID hotelId;
+
+    @Id
+    @Column(name = "stat_date", nullable = false, updatable = false)
+    private LocalDate statDate;
+
+    @Column(name = "occupied_rooms", nullable = false)
+    private Integer occupiedRooms = 0;
+
+    @Column(name = "arrivals", nullable = false)
+    private Integer arrivals = 0;
+
+    @Column(name = "departures", nullable = false)
+    private Integer departures = 0;
+
+    @Column(name = "check_ins", nullable = false)
+    private Integer checkIns = 0;
+
+    @Column(name = "check_outs", nullable = false)
+    private Integer checkOuts = 0;
+
+    @Column(name = "cancellations", nullable = false)
+    private Integer cancellations = 0;
+
+    @Column(name = "revenue", nullable = false, precision = 12, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    // DB-owned (DEFAULT NOW(), refreshed by the upserts)
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
+
+    protected HotelDailyStats() {
+    }
+
+    public UUID getHotelId() {
+        return hotelId;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public Integer getOccupiedRooms() {
+        return occupiedRooms;
+    }
+
+    public Integer getArrivals() {
+        return arrivals;
+    }
+
+    public Integer getDepartures() {
+        return departures;
+    }
+
+    public Integer getCheckIns() {
+        return checkIns;
+    }
+
+    public Integer getCheckOuts() {
+        return checkOuts;
+    }
+
+    public Integer getCancellations() {
+        return cancellations;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof HotelDailyStats other))
+            return false;
+        return hotelId != null && hotelId.equals(other.hotelId)
+            && statDate != null && statDate.equals(other.statDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "HotelDailyStats{hotelId=" + hotelId + ", statDate=" + statDate
+            + ", occupiedRooms=" + occupiedRooms + ", arrivals=" + arrivals + ", departures=" + departures
+            + ", checkIns=" + checkIns + ", checkOuts=" + checkOuts
+            + ", cancellations=" + cancellations + ", revenue=" + revenue + "}";
+    }
+}
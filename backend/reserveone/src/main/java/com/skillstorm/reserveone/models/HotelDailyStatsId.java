@@ -0,0 +1,56 @@
+package com.skillstorm.reserveone.models;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class HotelDailyStatsId implements java.io.Serializable {
+
+    @Column(name = "hotel_id")
+    private UUID hotelId;
+
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+
+    protected HotelDailyStatsId() {
+    }
+
+    public HotelDailyStatsId(UUID hotelId, LocalDate statDate) {
+        this.hotelId = hotelId;
+        this.statDate = statDate;
+    }
+
+    public UUID getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(UUID hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public LocalDate getStatDate() {
+        return statDate;
+    }
+
+    public void setStatDate(LocalDate statDate) {
+        this.statDate = statDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof HotelDailyStatsId other))
+            return false;
+        return Objects.equals(hotelId, other.hotelId) && Objects.equals(statDate, other.statDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hotelId, statDate);
+    }
+}
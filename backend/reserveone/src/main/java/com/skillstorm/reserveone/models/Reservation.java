@@ -14,10 +14,12 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -27,7 +29,7 @@ import jakarta.validation.constraints.Size;
 public class Reservation {
 
     public enum Status {
-        PENDING, CONFIRMED, CANCELLED, CHECKED_IN, CHECKED_OUT
+        PENDING, CONFIRMED, CANCELLED, CHECKED_IN, CHECKED_OUT, NO_SHOW
     }
 
     @Id
@@ -37,22 +39,22 @@ public class Reservation {
     private UUID reservationId;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "hotel_id", nullable = false)
     private Hotel hotel;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
 
     @NotNull
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "room_type_id", nullable = false)
     private RoomType roomType;
 
@@ -94,10 +96,24 @@ public class Reservation {
     @Column(name = "cancelled_at")
     private OffsetDateTime cancelledAt;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cancelled_by_user_id")
     private User cancelledByUser;
 
+    // Day the guest checked out; nights from then on no longer hold inventory
+    @Column(name = "checked_out_on")
+    private LocalDate checkedOutOn;
+
+    // Optimistic lock; bumped on every update, exposed to clients as the ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
+    // Set when the reservation was created as part of a group booking
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "group_id", updatable = false)
+    private UUID groupId;
+
     // DB-owned (DEFAULT NOW() + trigger set_updated_at())
     @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -123,6 +139,14 @@ public class Reservation {
         return reservationId;
     }
 
+    public UUID getGroupId() {
+        return groupId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
     public Hotel getHotel() {
         return hotel;
     }
@@ -235,6 +259,14 @@ public class Reservation {
         this.cancelledByUser = cancelledByUser;
     }
 
+    public LocalDate getCheckedOutOn() {
+        return checkedOutOn;
+    }
+
+    public void setCheckedOutOn(LocalDate checkedOutOn) {
+        this.checkedOutOn = checkedOutOn;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
@@ -16,6 +16,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -62,6 +63,11 @@ public class Room {
     @Column(name = "notes", length = 2000)
     private String notes;
 
+    // Optimistic lock; bumped on every update, exposed to clients as the ETag
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version = 0L;
+
     // DB-owned (DEFAULT NOW() + trigger set_updated_at())
     @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -82,6 +88,10 @@ public class Room {
         return roomId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Hotel getHotel() {
         return hotel;
     }
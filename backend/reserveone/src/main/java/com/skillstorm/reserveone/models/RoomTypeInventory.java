@@ -0,0 +1,95 @@
+package com.skillstorm.reserveone.models;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One row of the room-type inventory ledger: how many rooms of a room type are sold
+ * for a single night. Rows are written with atomic upserts by
+ * {@code RoomTypeInventoryRepository}; this entity is used for reads.
+ */
+@Entity
+@Table(name = "room_type_inventory")
+@IdClass(RoomTypeInventoryId.class)
+public class RoomTypeInventory {
+
+    @Id
+    @JdbcTypeCode(SqlTypes.UUID)
+    @Column(name = "room_type_id", nullable = false, updatable = false)
+    private UUID roomTypeId;
+
+    @Id
+    @Column(name = "stay_date", nullable = false, updatable = false)
+    private LocalDate stayDate;
+
+    @NotNull
+    @Min(0)
+    @Column(name = "sold_count", nullable = false)
+    private Integer soldCount = 0;
+
+    // DB-owned (DEFAULT NOW(), refreshed by the upsert)
+    @Column(name = "updated_at", nullable = false, insertable = false, updatable = false)
+    private OffsetDateTime updatedAt;
+
+    protected RoomTypeInventory() {
+    }
+
+    public RoomTypeInventory(UUID roomTypeId, LocalDate stayDate, Integer soldCount) {
+        this.roomTypeId = roomTypeId;
+        this.stayDate = stayDate;
+        this.soldCount = soldCount;
+    }
+
+    public UUID getRoomTypeId() {
+        return roomTypeId;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public Integer getSoldCount() {
+        return soldCount;
+    }
+
+    public void setSoldCount(Integer soldCount) {
+        this.soldCount = soldCount;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof RoomTypeInventory other))
+            return false;
+        return roomTypeId != null && roomTypeId.equals(other.roomTypeId)
+            && stayDate != null && stayDate.equals(other.stayDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RoomTypeInventory{roomTypeId=" + roomTypeId + ", stayDate=" + stayDate
+            + ", soldCount=" + soldCount + "}";
+    }
+}
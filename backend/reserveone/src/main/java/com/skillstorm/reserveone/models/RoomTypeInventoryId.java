@@ -0,0 +1,56 @@
+package com.skillstorm.reserveone.models;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class RoomTypeInventoryId implements java.io.Serializable {
+
+    @Column(name = "room_type_id")
+    private UUID roomTypeId;
+
+    @Column(name = "stay_date")
+    private LocalDate stayDate;
+
+    protected RoomTypeInventoryId() {
+    }
+
+    public RoomTypeInventoryId(UUID roomTypeId, LocalDate stayDate) {
+        this.roomTypeId = roomTypeId;
+        this.stayDate = stayDate;
+    }
+
+    public UUID getRoomTypeId() {
+        return roomTypeId;
+    }
+
+    public void setRoomTypeId(UUID roomTypeId) {
+        this.roomTypeId = roomTypeId;
+    }
+
+    public LocalDate getStayDate() {
+        return stayDate;
+    }
+
+    public void setStayDate(LocalDate stayDate) {
+        this.stayDate = stayDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof RoomTypeInventoryId other))
+            return false;
+        return Objects.equals(roomTypeId, other.roomTypeId) && Objects.equals(stayDate, other.stayDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(roomTypeId, stayDate);
+    }
+}
@@ -0,0 +1,64 @@
+package com.skillstorm.reserveone.repositories;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.reserveone.models.EmailOutboxMessage;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+
+    // Due rows, oldest first. SKIP LOCKED lets several instances poll without
+    // blocking on, or double-claiming, each other's rows. SENDING rows whose
+    // lease ran out (the sender died) are due again.
+    @Query(value = """
+        SELECT o.outbox_id FROM email_outbox o
+        WHERE o.status IN ('PENDING', 'SENDING')
+          AND o.next_attempt_at <= NOW()
+        ORDER BY o.next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    List<UUID> lockDueIds(@Param("limit") int limit);
+
+    // Marks locked rows as being sent and hides them from other pollers for the lease
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+        UPDATE email_outbox
+        SET status = 'SENDING', attempts = attempts + 1,
+            next_attempt_at = NOW() + :leaseMillis * INTERVAL '1 millisecond'
+        WHERE outbox_id IN (:ids)
+        """, nativeQuery = true)
+    int markSending(@Param("ids") List<UUID> ids, @Param("leaseMillis") long leaseMillis);
+
+    @Modifying
+    @Query(value = """
+        UPDATE email_outbox
+        SET status = 'SENT', sent_at = NOW(), last_error = NULL
+        WHERE outbox_id IN (:ids)
+        """, nativeQuery = true)
+    int markSent(@Param("ids") List<UUID> ids);
+
+    @Modifying
+    @Query(value = """
+        UPDATE email_outbox
+        SET status = 'PENDING', last_error = :error,
+            next_attempt_at = NOW() + :delayMillis * INTERVAL '1 millisecond'
+        WHERE outbox_id = :id
+        """, nativeQuery = true)
+    int scheduleRetry(@Param("id") UUID id, @Param("delayMillis") long delayMillis, @Param("error") String error);
+
+    @Modifying
+    @Query(value = """
+        UPDATE email_outbox
+        SET status = 'FAILED', last_error = :error
+        WHERE outbox_id = :id
+        """, nativeQuery = true)
+    int markFailed(@Param("id") UUID id, @Param("error") String error);
+}
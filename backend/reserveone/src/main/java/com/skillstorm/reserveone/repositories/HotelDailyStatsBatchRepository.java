@@ -0,0 +1,151 @@
+package com.skillstorm.reserveone.repositories;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Streaming reads and batched writes for rebuilding the daily hotel rollup over JDBC.
+ *
+ * <p>The rebuild reads one row per reservation, ordered by hotel, through a server-side
+ * cursor, and writes the computed rollup rows in JDBC batches. The statements join the
+ * surrounding JPA transaction.
+ */
+@Repository
+public class HotelDailyStatsBatchRepository {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private static final String BOUNDS_SQL = """
+        SELECT MIN(LEAST(start_date, CAST(cancelled_at AS date))),
+               MAX(GREATEST(end_date, CAST(cancelled_at AS date)))
+        FROM reservations
+        """;
+
+    private static final String SOURCES_SQL = """
+        SELECT hotel_id, start_date,
+               CASE WHEN status = 'CHECKED_OUT' AND checked_out_on IS NOT NULL
+                    THEN LEAST(end_date, GREATEST(start_date, checked_out_on))
+                    ELSE end_date END AS end_date,
+               total_amount,
+               status NOT IN ('CANCELLED', 'NO_SHOW') AS holds_inventory,
+               status IN ('CHECKED_IN', 'CHECKED_OUT') AS checked_in,
+               status = 'CHECKED_OUT' AS checked_out,
+               CASE WHEN status = 'CANCELLED' THEN CAST(cancelled_at AS date) END AS cancelled_on
+        FROM reservations
+        ORDER BY hotel_id
+        """;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO hotel_daily_stats (hotel_id, stat_date, occupied_rooms, arrivals, departures,
+                                       check_ins, check_outs, cancellations, revenue)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reservation columns the rollup is computed from. {@code endDate} is the check-out day
+     * of an early check-out. {@code checkedIn} is true once the guest has arrived (CHECKED_IN
+     * or CHECKED_OUT) and {@code checkedOut} once the guest has left on {@code endDate}.
+     * {@code cancelledOn} is set only for CANCELLED reservations with a cancellation time.
+     */
+    public record StatsSource(
+        UUID hotelId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalAmount,
+        boolean holdsInventory,
+        boolean checkedIn,
+        boolean checkedOut,
+        LocalDate cancelledOn) {
+    }
+
+    /**
+     * Earliest and latest day, both inclusive, that any reservation touches.
+     */
+    public record DayBounds(LocalDate firstDay, LocalDate lastDay) {
+    }
+
+    /**
+     * Column values of one rollup row to insert.
+     */
+    public record StatsRow(
+        UUID hotelId,
+        LocalDate statDate,
+        int occupiedRooms,
+        int arrivals,
+        int departures,
+        int checkIns,
+        int checkOuts,
+        int cancellations,
+        BigDecimal revenue) {
+    }
+
+    /**
+     * Receives reservations one at a time while the cursor is open.
+     */
+    @FunctionalInterface
+    public interface StatsSourceHandler {
+        void handle(StatsSource source);
+    }
+
+    public HotelDailyStatsBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Returns the earliest and latest day any reservation stays or was cancelled on, or null
+     * when there are no reservations.
+     */
+    public DayBounds findDayBounds() {
+        return jdbcTemplate.queryForObject(BOUNDS_SQL, (rs, rowNum) -> {
+            LocalDate first = rs.getObject(1, LocalDate.class);
+            return first != null ? new DayBounds(first, rs.getObject(2, LocalDate.class)) : null;
+        });
+    }
+
+    /**
+     * Passes every reservation to the handler in hotel order without loading them all at once.
+     */
+    public void forEachSource(StatsSourceHandler handler) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SOURCES_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            handler.handle(new StatsSource(
+                rs.getObject("hotel_id", UUID.class),
+                rs.getObject("start_date", LocalDate.class),
+                rs.getObject("end_date", LocalDate.class),
+                rs.getBigDecimal("total_amount"),
+                rs.getBoolean("holds_inventory"),
+                rs.getBoolean("checked_in"),
+                rs.getBoolean("checked_out"),
+                rs.getObject("cancelled_on", LocalDate.class)));
+        });
+    }
+
+    /**
+     * Inserts all rows in one batch.
+     */
+    public void insertAll(List<StatsRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.hotelId());
+            ps.setObject(2, row.statDate());
+            ps.setInt(3, row.occupiedRooms());
+            ps.setInt(4, row.arrivals());
+            ps.setInt(5, row.departures());
+            ps.setInt(6, row.checkIns());
+            ps.setInt(7, row.checkOuts());
+            ps.setInt(8, row.cancellations());
+            ps.setBigDecimal(9, row.revenue());
+        });
+    }
+}
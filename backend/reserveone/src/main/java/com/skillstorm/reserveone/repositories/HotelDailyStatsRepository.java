@@ -0,0 +1,195 @@
+package com.skillstorm.reserveone.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.reserveone.models.HotelDailyStats;
+import com.skillstorm.reserveone.models.HotelDailyStatsId;
+import com.skillstorm.reserveone.repositories.projections.DailyStatsView;
+
+@Repository
+public interface HotelDailyStatsRepository extends JpaRepository<HotelDailyStats, HotelDailyStatsId> {
+
+    // Rollup rows for days in [fromDate, toDate], summed over all hotels when hotelId is null
+    @Query(value = """
+        SELECT stat_date AS statDate,
+               SUM(occupied_rooms) AS occupiedRooms,
+               SUM(arrivals) AS arrivals,
+               SUM(departures) AS departures,
+               SUM(check_ins) AS checkIns,
+               SUM(check_outs) AS checkOuts,
+               SUM(cancellations) AS cancellations,
+               SUM(revenue) AS revenue
+        FROM hotel_daily_stats
+        WHERE (CAST(:hotelId AS uuid) IS NULL OR hotel_id = CAST(:hotelId AS uuid))
+          AND stat_date BETWEEN :fromDate AND :toDate
+        GROUP BY stat_date
+        ORDER BY stat_date
+        """, nativeQuery = true)
+    List<DailyStatsView> sumByDateRange(
+        @Param("hotelId") UUID hotelId,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate);
+
+    // Atomically adds `rooms` stays of [startDate, endDate) to the hotel, creating missing rows:
+    // occupied on each night, one arrival on startDate, one departure on endDate, revenue on startDate
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats AS h (hotel_id, stat_date, occupied_rooms, arrivals, departures, revenue)
+        SELECT CAST(:hotelId AS uuid), CAST(d AS date),
+               CASE WHEN CAST(d AS date) < CAST(:endDate AS date) THEN :rooms ELSE 0 END,
+               CASE WHEN CAST(d AS date) = CAST(:startDate AS date) THEN :rooms ELSE 0 END,
+               CASE WHEN CAST(d AS date) = CAST(:endDate AS date) THEN :rooms ELSE 0 END,
+               CASE WHEN CAST(d AS date) = CAST(:startDate AS date) THEN :revenue ELSE 0 END
+        FROM generate_series(CAST(:startDate AS date), CAST(:endDate AS date), interval '1 day') AS d
+        ON CONFLICT (hotel_id, stat_date)
+        DO UPDATE SET occupied_rooms = h.occupied_rooms + EXCLUDED.occupied_rooms,
+                      arrivals = h.arrivals + EXCLUDED.arrivals,
+                      departures = h.departures + EXCLUDED.departures,
+                      revenue = h.revenue + EXCLUDED.revenue,
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int addStays(
+        @Param("hotelId") UUID hotelId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("rooms") int rooms,
+        @Param("revenue") BigDecimal revenue);
+
+    // Reverse of addStays for one stay; never drops a figure below zero
+    @Modifying
+    @Query(value = """
+        UPDATE hotel_daily_stats h
+        SET occupied_rooms = GREATEST(h.occupied_rooms - CASE WHEN h.stat_date < :endDate THEN 1 ELSE 0 END, 0),
+            arrivals = GREATEST(h.arrivals - CASE WHEN h.stat_date = :startDate THEN 1 ELSE 0 END, 0),
+            departures = GREATEST(h.departures - CASE WHEN h.stat_date = :endDate THEN 1 ELSE 0 END, 0),
+            revenue = GREATEST(h.revenue - CASE WHEN h.stat_date = :startDate THEN :revenue ELSE 0 END, 0),
+            updated_at = NOW()
+        WHERE h.hotel_id = :hotelId
+          AND h.stat_date BETWEEN :startDate AND :endDate
+        """, nativeQuery = true)
+    int removeStay(
+        @Param("hotelId") UUID hotelId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("revenue") BigDecimal revenue);
+
+    // Set-wise removeStay for the given reservations, read from their current rows
+    @Modifying
+    @Query(value = """
+        UPDATE hotel_daily_stats h
+        SET occupied_rooms = GREATEST(h.occupied_rooms - n.occupied, 0),
+            arrivals = GREATEST(h.arrivals - n.arrivals, 0),
+            departures = GREATEST(h.departures - n.departures, 0),
+            revenue = GREATEST(h.revenue - n.revenue, 0),
+            updated_at = NOW()
+        FROM (
+            SELECT r.hotel_id, CAST(d AS date) AS stat_date,
+                   COUNT(*) FILTER (WHERE CAST(d AS date) < r.end_date) AS occupied,
+                   COUNT(*) FILTER (WHERE CAST(d AS date) = r.start_date) AS arrivals,
+                   COUNT(*) FILTER (WHERE CAST(d AS date) = r.end_date) AS departures,
+                   COALESCE(SUM(r.total_amount) FILTER (WHERE CAST(d AS date) = r.start_date), 0) AS revenue
+            FROM reservations r
+            CROSS JOIN LATERAL generate_series(r.start_date, r.end_date, interval '1 day') AS d
+            WHERE r.reservation_id IN (:reservationIds)
+            GROUP BY r.hotel_id, CAST(d AS date)
+        ) n
+        WHERE h.hotel_id = n.hotel_id AND h.stat_date = n.stat_date
+        """, nativeQuery = true)
+    int removeStaysOf(@Param("reservationIds") Collection<UUID> reservationIds);
+
+    // Atomically adds delta to the hotel's cancellations on the given day, creating the row if missing
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats AS h (hotel_id, stat_date, cancellations)
+        VALUES (CAST(:hotelId AS uuid), CAST(:statDate AS date), GREATEST(:delta, 0))
+        ON CONFLICT (hotel_id, stat_date)
+        DO UPDATE SET cancellations = GREATEST(h.cancellations + :delta, 0),
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int adjustCancellations(
+        @Param("hotelId") UUID hotelId,
+        @Param("statDate") LocalDate statDate,
+        @Param("delta") int delta);
+
+    // Atomically adds the deltas to the hotel's guests checked in and out on the given day,
+    // creating the row if missing
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats AS h (hotel_id, stat_date, check_ins, check_outs)
+        VALUES (CAST(:hotelId AS uuid), CAST(:statDate AS date), GREATEST(:checkIns, 0), GREATEST(:checkOuts, 0))
+        ON CONFLICT (hotel_id, stat_date)
+        DO UPDATE SET check_ins = GREATEST(h.check_ins + :checkIns, 0),
+                      check_outs = GREATEST(h.check_outs + :checkOuts, 0),
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int adjustGuestMovements(
+        @Param("hotelId") UUID hotelId,
+        @Param("statDate") LocalDate statDate,
+        @Param("checkIns") int checkIns,
+        @Param("checkOuts") int checkOuts);
+
+    // Counts the given reservations that are CHECKED_IN or CHECKED_OUT as checked in on their start_date
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats AS h (hotel_id, stat_date, check_ins)
+        SELECT r.hotel_id, r.start_date, COUNT(*)
+        FROM reservations r
+        WHERE r.reservation_id IN (:reservationIds)
+          AND r.status IN ('CHECKED_IN', 'CHECKED_OUT')
+        GROUP BY r.hotel_id, r.start_date
+        ON CONFLICT (hotel_id, stat_date)
+        DO UPDATE SET check_ins = h.check_ins + EXCLUDED.check_ins,
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int addCheckInsOf(@Param("reservationIds") Collection<UUID> reservationIds);
+
+    // Counts the given reservations that are CHECKED_OUT as checked out on their check-out day
+    // (checked_out_on within the stay, else end_date)
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats AS h (hotel_id, stat_date, check_outs)
+        SELECT r.hotel_id, o.check_out_day, COUNT(*)
+        FROM reservations r
+        CROSS JOIN LATERAL (
+            SELECT CASE WHEN r.checked_out_on IS NOT NULL
+                        THEN LEAST(r.end_date, GREATEST(r.start_date, r.checked_out_on))
+                        ELSE r.end_date END AS check_out_day
+        ) o
+        WHERE r.reservation_id IN (:reservationIds)
+          AND r.status = 'CHECKED_OUT'
+        GROUP BY r.hotel_id, o.check_out_day
+        ON CONFLICT (hotel_id, stat_date)
+        DO UPDATE SET check_outs = h.check_outs + EXCLUDED.check_outs,
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int addCheckOutsOf(@Param("reservationIds") Collection<UUID> reservationIds);
+
+    // Counts the given reservations as cancelled on the day of their cancelled_at
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats AS h (hotel_id, stat_date, cancellations)
+        SELECT r.hotel_id, CAST(r.cancelled_at AS date), COUNT(*)
+        FROM reservations r
+        WHERE r.reservation_id IN (:reservationIds)
+          AND r.cancelled_at IS NOT NULL
+        GROUP BY r.hotel_id, CAST(r.cancelled_at AS date)
+        ON CONFLICT (hotel_id, stat_date)
+        DO UPDATE SET cancellations = h.cancellations + EXCLUDED.cancellations,
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int addCancellationsOf(@Param("reservationIds") Collection<UUID> reservationIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM hotel_daily_stats", nativeQuery = true)
+    int deleteAllRows();
+}
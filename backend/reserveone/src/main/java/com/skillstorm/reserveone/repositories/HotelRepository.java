@@ -17,5 +17,8 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
            "(:city IS NULL OR LOWER(h.city) LIKE LOWER(CONCAT('%', :city, '%'))) AND " +
            "(:state IS NULL OR LOWER(h.state) = LOWER(:state))")
     List<Hotel> findByLocation(@Param("city") String city, @Param("state") String state);
+
+    @Query("SELECT h.hotelId FROM Hotel h ORDER BY h.hotelId")
+    List<UUID> findAllHotelIds();
 }
 
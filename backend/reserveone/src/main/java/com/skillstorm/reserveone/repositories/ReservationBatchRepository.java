@@ -0,0 +1,81 @@
+package com.skillstorm.reserveone.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.reserveone.models.Reservation.Status;
+
+/**
+ * Batched reservation inserts over JDBC.
+ *
+ * <p>Reservation IDs are generated by the database on the JPA path, which makes Hibernate
+ * insert rows one statement at a time to read each key back. Group bookings instead assign
+ * IDs up front and send every row in a single JDBC batch. The statements join the
+ * surrounding JPA transaction.
+ */
+@Repository
+public class ReservationBatchRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO reservations (reservation_id, group_id, hotel_id, user_id, room_id, room_type_id,
+                                  start_date, end_date, guest_count, status, total_amount, currency,
+                                  special_requests)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Column values of one reservation to insert.
+     */
+    public record ReservationRow(
+        UUID reservationId,
+        UUID groupId,
+        UUID hotelId,
+        UUID userId,
+        UUID roomId,
+        UUID roomTypeId,
+        LocalDate startDate,
+        LocalDate endDate,
+        int guestCount,
+        Status status,
+        BigDecimal totalAmount,
+        String currency,
+        String specialRequests) {
+    }
+
+    public ReservationBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts all rows in one batch.
+     *
+     * @return the creation timestamp the database assigned to the rows (the transaction start time)
+     */
+    public OffsetDateTime insertAll(List<ReservationRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setObject(1, row.reservationId());
+            ps.setObject(2, row.groupId());
+            ps.setObject(3, row.hotelId());
+            ps.setObject(4, row.userId());
+            ps.setObject(5, row.roomId());
+            ps.setObject(6, row.roomTypeId());
+            ps.setObject(7, row.startDate());
+            ps.setObject(8, row.endDate());
+            ps.setInt(9, row.guestCount());
+            ps.setString(10, row.status().name());
+            ps.setBigDecimal(11, row.totalAmount());
+            ps.setString(12, row.currency());
+            ps.setString(13, row.specialRequests());
+        });
+        // DEFAULT NOW() is the transaction start time, so this matches created_at / updated_at
+        return jdbcTemplate.queryForObject("SELECT NOW()", OffsetDateTime.class);
+    }
+}
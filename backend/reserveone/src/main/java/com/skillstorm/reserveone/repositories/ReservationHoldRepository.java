@@ -6,10 +6,14 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.skillstorm.reserveone.models.ReservationHold;
 import com.skillstorm.reserveone.models.ReservationHold.Status;
+import com.skillstorm.reserveone.repositories.projections.ActiveHoldView;
+import com.skillstorm.reserveone.repositories.projections.HeldRoomsView;
 
 @Repository
 public interface ReservationHoldRepository extends JpaRepository<ReservationHold, UUID> {
@@ -27,5 +31,45 @@ public interface ReservationHoldRepository extends JpaRepository<ReservationHold
     // Check for overlapping holds (for a given room and date range)
     List<ReservationHold> findByRoom_RoomIdAndStatusAndStartDateLessThanAndEndDateGreaterThan(
         UUID roomId, Status status, LocalDate endDate, LocalDate startDate);
+
+    // Unexpired holds in a status overlapping a date range (no entity hydration)
+    @Query("SELECT h.holdId AS holdId, h.room.roomId AS roomId, h.startDate AS startDate, " +
+           "h.endDate AS endDate, h.expiresAt AS expiresAt FROM ReservationHold h " +
+           "WHERE h.status = :status AND " +
+           "h.expiresAt > :now AND h.startDate < :endDate AND h.endDate > :startDate")
+    List<ActiveHoldView> findUnexpiredHoldsInDateRange(
+        @Param("status") Status status,
+        @Param("now") OffsetDateTime now,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Sellable rooms per room type held on each night of [startDate, endDate) by ACTIVE,
+    // unexpired holds of the hotel. A night whose room is already taken by a reservation
+    // is skipped, because the inventory ledger counts it as sold.
+    @Query(value = """
+        SELECT r.room_type_id AS roomTypeId, CAST(d AS date) AS stayDate, COUNT(*) AS heldCount
+        FROM reservation_holds h
+        JOIN rooms r ON r.room_id = h.room_id
+        CROSS JOIN LATERAL generate_series(
+            GREATEST(h.start_date, CAST(:startDate AS date)),
+            LEAST(h.end_date, CAST(:endDate AS date)) - 1,
+            interval '1 day') AS d
+        WHERE h.hotel_id = :hotelId
+          AND h.status = 'ACTIVE'
+          AND h.expires_at > :now
+          AND h.start_date < :endDate AND h.end_date > :startDate
+          AND r.status <> 'OUT_OF_SERVICE'
+          AND NOT EXISTS (
+              SELECT 1 FROM reservations res
+              WHERE res.room_id = h.room_id
+                AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+                AND res.start_date <= CAST(d AS date) AND res.end_date > CAST(d AS date))
+        GROUP BY r.room_type_id, CAST(d AS date)
+        """, nativeQuery = true)
+    List<HeldRoomsView> countHeldRoomsByNight(
+        @Param("hotelId") UUID hotelId,
+        @Param("now") OffsetDateTime now,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
 }
 
@@ -1,17 +1,27 @@
 package com.skillstorm.reserveone.repositories;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.skillstorm.reserveone.models.Reservation;
 import com.skillstorm.reserveone.models.Reservation.Status;
+import com.skillstorm.reserveone.repositories.projections.BookingReferenceView;
+import com.skillstorm.reserveone.repositories.projections.DailyOccupancyView;
+import com.skillstorm.reserveone.repositories.projections.OperationalCountsView;
+import com.skillstorm.reserveone.repositories.projections.ReservationTransitionView;
+import com.skillstorm.reserveone.repositories.projections.RoomStayView;
+import com.skillstorm.reserveone.repositories.projections.SweptReservationView;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, UUID>, JpaSpecificationExecutor<Reservation> {
@@ -23,6 +33,13 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>,
     List<Reservation> findByRoom_RoomId(UUID roomId);
     
     List<Reservation> findByRoomType_RoomTypeId(UUID roomTypeId);
+
+    // Associations are lazy; confirmation emails need all of them, so they are fetched in the same query
+    @EntityGraph(attributePaths = { "hotel", "user", "room", "roomType" })
+    List<Reservation> findByGroupIdOrderByStartDateAscReservationIdAsc(UUID groupId);
+
+    @EntityGraph(attributePaths = { "hotel", "user", "room", "roomType" })
+    List<Reservation> findWithDetailsByReservationIdIn(Collection<UUID> reservationIds);
     
     List<Reservation> findByStatus(Status status);
     
@@ -53,7 +70,288 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>,
         @Param("statuses") List<Status> statuses,
         @Param("startDate") LocalDate startDate,
         @Param("endDate") LocalDate endDate);
-    
+
+    // Room/date pairs only (no entity hydration) for stays overlapping a date range
+    @Query("SELECT r.room.roomId AS roomId, r.startDate AS startDate, r.endDate AS endDate " +
+           "FROM Reservation r WHERE r.status IN :statuses AND " +
+           "r.startDate < :endDate AND r.endDate > :startDate")
+    List<RoomStayView> findStaysByStatusInAndDateRange(
+        @Param("statuses") List<Status> statuses,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Nights blocked at one hotel overlapping [startDate, endDate): active reservations plus
+    // unexpired ACTIVE holds, in one round trip
+    @Query(value = """
+        SELECT res.room_id AS roomId, res.start_date AS startDate, res.end_date AS endDate
+        FROM reservations res
+        WHERE res.hotel_id = :hotelId
+          AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+          AND res.start_date < :endDate AND res.end_date > :startDate
+        UNION ALL
+        SELECT h.room_id AS roomId, h.start_date AS startDate, h.end_date AS endDate
+        FROM reservation_holds h
+        WHERE h.hotel_id = :hotelId
+          AND h.status = 'ACTIVE'
+          AND h.expires_at > NOW()
+          AND h.start_date < :endDate AND h.end_date > :startDate
+        """, nativeQuery = true)
+    List<RoomStayView> findBlockedStaysByHotelAndDateRange(
+        @Param("hotelId") UUID hotelId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Same as above for several hotels
+    @Query(value = """
+        SELECT res.room_id AS roomId, res.start_date AS startDate, res.end_date AS endDate
+        FROM reservations res
+        WHERE res.hotel_id IN (:hotelIds)
+          AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+          AND res.start_date < :endDate AND res.end_date > :startDate
+        UNION ALL
+        SELECT h.room_id AS roomId, h.start_date AS startDate, h.end_date AS endDate
+        FROM reservation_holds h
+        WHERE h.hotel_id IN (:hotelIds)
+          AND h.status = 'ACTIVE'
+          AND h.expires_at > NOW()
+          AND h.start_date < :endDate AND h.end_date > :startDate
+        """, nativeQuery = true)
+    List<RoomStayView> findBlockedStaysByHotelsAndDateRange(
+        @Param("hotelIds") List<UUID> hotelIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Same as above for every hotel
+    @Query(value = """
+        SELECT res.room_id AS roomId, res.start_date AS startDate, res.end_date AS endDate
+        FROM reservations res
+        WHERE res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+          AND res.start_date < :endDate AND res.end_date > :startDate
+        UNION ALL
+        SELECT h.room_id AS roomId, h.start_date AS startDate, h.end_date AS endDate
+        FROM reservation_holds h
+        WHERE h.status = 'ACTIVE'
+          AND h.expires_at > NOW()
+          AND h.start_date < :endDate AND h.end_date > :startDate
+        """, nativeQuery = true)
+    List<RoomStayView> findBlockedStaysByDateRange(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Rooms among the given ones that an active reservation holds on any night of [startDate, endDate)
+    @Query(value = """
+        SELECT DISTINCT res.room_id FROM reservations res
+        WHERE res.room_id IN (:roomIds)
+          AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+          AND res.start_date < :endDate AND res.end_date > :startDate
+        """, nativeQuery = true)
+    List<UUID> findReservedRoomIds(
+        @Param("roomIds") List<UUID> roomIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Reservation and room state for a bulk check-in / check-out; both rows are locked so the
+    // transition validated here cannot be changed by another request before it is applied
+    @Query(value = """
+        SELECT res.reservation_id AS reservationId, res.hotel_id AS hotelId, res.status AS status,
+               res.start_date AS startDate, res.end_date AS endDate, res.total_amount AS totalAmount,
+               r.room_id AS roomId, res.room_type_id AS roomTypeId, r.status AS roomStatus
+        FROM reservations res
+        JOIN rooms r ON r.room_id = res.room_id
+        WHERE res.reservation_id IN (:ids)
+        FOR UPDATE OF res, r
+        """, nativeQuery = true)
+    List<ReservationTransitionView> lockForTransition(@Param("ids") List<UUID> ids);
+
+    // Sets the status of many reservations in one statement, bumping their optimistic-lock version;
+    // a move to CHECKED_OUT also records the check-out day
+    @Modifying
+    @Query(value = """
+        UPDATE reservations
+        SET status = :status,
+            checked_out_on = CASE WHEN :status = 'CHECKED_OUT' THEN CAST(:today AS date) ELSE checked_out_on END,
+            version = version + 1
+        WHERE reservation_id IN (:ids)
+        """, nativeQuery = true)
+    int updateStatusByIds(
+        @Param("ids") List<UUID> ids,
+        @Param("status") String status,
+        @Param("today") LocalDate today);
+
+    // Occupied rooms (nights [start_date, end_date)), booked arrivals and departures, and guests
+    // checked in (on start_date) and out, for every day of [fromDate, toDate], computed live from
+    // reservations, for one hotel or all when hotelId is null. An early check-out ends on its
+    // check-out day. Each reservation is joined only to the days of its stay inside the range;
+    // days with no activity come back as zeros. The daily rollup is verified against this
+    // (HotelDailyStatsService#verify).
+    @Query(value = """
+        SELECT d.day AS stayDate,
+               COUNT(r.reservation_id) FILTER (WHERE r.end_date > d.day) AS occupiedRooms,
+               COUNT(r.reservation_id) FILTER (WHERE r.start_date = d.day) AS arrivals,
+               COUNT(r.reservation_id) FILTER (WHERE r.end_date = d.day) AS departures,
+               COUNT(r.reservation_id) FILTER (WHERE r.start_date = d.day
+                                                 AND r.status IN ('CHECKED_IN', 'CHECKED_OUT')) AS checkIns,
+               COUNT(r.reservation_id) FILTER (WHERE r.end_date = d.day AND r.status = 'CHECKED_OUT') AS checkOuts
+        FROM (
+            SELECT CAST(g AS date) AS day
+            FROM generate_series(CAST(:fromDate AS date), CAST(:toDate AS date), interval '1 day') AS g
+        ) d
+        LEFT JOIN (
+            SELECT reservation_id, status, start_date,
+                   CASE WHEN status = 'CHECKED_OUT' AND checked_out_on IS NOT NULL
+                        THEN LEAST(end_date, GREATEST(start_date, checked_out_on))
+                        ELSE end_date END AS end_date
+            FROM reservations
+            WHERE status NOT IN ('CANCELLED', 'NO_SHOW')
+              AND (CAST(:hotelId AS uuid) IS NULL OR hotel_id = CAST(:hotelId AS uuid))
+              AND start_date <= CAST(:toDate AS date)
+              AND end_date >= CAST(:fromDate AS date)
+        ) r
+          ON r.start_date <= d.day
+         AND r.end_date >= d.day
+        GROUP BY d.day
+        ORDER BY d.day
+        """, nativeQuery = true)
+    List<DailyOccupancyView> findDailyOccupancy(
+        @Param("hotelId") UUID hotelId,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate);
+
+    // Lifecycle sweeps (ReservationLifecycleService). Each is one statement: the reservation
+    // UPDATE's RETURNING rows drive the ledger / room changes in the same statement. Ledger
+    // releases are not clamped, so a night taken below zero fails the sweep on ck_rti_sold_count.
+
+    // PENDING reservations created before the cutoff with no payment in progress or completed
+    // become CANCELLED, and their nights are taken off the inventory ledger
+    @Query(value = """
+        WITH swept AS (
+            UPDATE reservations res
+            SET status = 'CANCELLED', cancelled_at = NOW(), cancellation_reason = :reason,
+                version = res.version + 1
+            WHERE res.status = 'PENDING'
+              AND res.created_at < :createdBefore
+              AND NOT EXISTS (
+                  SELECT 1 FROM payment_transactions p
+                  WHERE p.reservation_id = res.reservation_id
+                    AND p.status IN ('PROCESSING', 'SUCCEEDED'))
+            RETURNING res.reservation_id, res.hotel_id, res.room_id, res.room_type_id, res.start_date, res.end_date
+        ), released AS (
+            UPDATE room_type_inventory i
+            SET sold_count = i.sold_count - n.rooms, updated_at = NOW()
+            FROM (
+                SELECT s.room_type_id, CAST(d AS date) AS stay_date, COUNT(*) AS rooms
+                FROM swept s
+                CROSS JOIN LATERAL generate_series(s.start_date, s.end_date - 1, interval '1 day') AS d
+                GROUP BY s.room_type_id, CAST(d AS date)
+            ) n
+            WHERE i.room_type_id = n.room_type_id AND i.stay_date = n.stay_date
+        )
+        SELECT reservation_id AS reservationId, hotel_id AS hotelId, room_id AS roomId,
+               start_date AS startDate, end_date AS endDate
+        FROM swept
+        """, nativeQuery = true)
+    List<SweptReservationView> expireUnpaidPending(
+        @Param("createdBefore") OffsetDateTime createdBefore,
+        @Param("reason") String reason);
+
+    // CONFIRMED reservations whose arrival day is before the cutoff become NO_SHOW, and their
+    // nights are taken off the inventory ledger
+    @Query(value = """
+        WITH swept AS (
+            UPDATE reservations res
+            SET status = 'NO_SHOW', version = res.version + 1
+            WHERE res.status = 'CONFIRMED'
+              AND res.start_date < :arrivalBefore
+            RETURNING res.reservation_id, res.hotel_id, res.room_id, res.room_type_id, res.start_date, res.end_date
+        ), released AS (
+            UPDATE room_type_inventory i
+            SET sold_count = i.sold_count - n.rooms, updated_at = NOW()
+            FROM (
+                SELECT s.room_type_id, CAST(d AS date) AS stay_date, COUNT(*) AS rooms
+                FROM swept s
+                CROSS JOIN LATERAL generate_series(s.start_date, s.end_date - 1, interval '1 day') AS d
+                GROUP BY s.room_type_id, CAST(d AS date)
+            ) n
+            WHERE i.room_type_id = n.room_type_id AND i.stay_date = n.stay_date
+        )
+        SELECT reservation_id AS reservationId, hotel_id AS hotelId, room_id AS roomId,
+               start_date AS startDate, end_date AS endDate
+        FROM swept
+        """, nativeQuery = true)
+    List<SweptReservationView> markNoShows(@Param("arrivalBefore") LocalDate arrivalBefore);
+
+    // CHECKED_IN reservations whose departure day is before the cutoff become CHECKED_OUT, and
+    // their rooms are set back to AVAILABLE if still OCCUPIED
+    @Query(value = """
+        WITH swept AS (
+            UPDATE reservations res
+            SET status = 'CHECKED_OUT', checked_out_on = res.end_date, version = res.version + 1
+            WHERE res.status = 'CHECKED_IN'
+              AND res.end_date < :departureBefore
+            RETURNING res.reservation_id, res.hotel_id, res.room_id, res.start_date, res.end_date
+        ), freed AS (
+            UPDATE rooms r
+            SET status = 'AVAILABLE', version = r.version + 1
+            WHERE r.status = 'OCCUPIED'
+              AND r.room_id IN (SELECT room_id FROM swept)
+        )
+        SELECT reservation_id AS reservationId, hotel_id AS hotelId, room_id AS roomId,
+               start_date AS startDate, end_date AS endDate
+        FROM swept
+        """, nativeQuery = true)
+    List<SweptReservationView> autoCheckOut(@Param("departureBefore") LocalDate departureBefore);
+
+    // Everything a booking needs to know about its references in one row: whether the hotel
+    // and user exist, which hotel / room type the room belongs to, and the room type's
+    // hotel and capacity
+    @Query(value = """
+        SELECT EXISTS (SELECT 1 FROM hotels h WHERE h.hotel_id = :hotelId) AS hotelExists,
+               EXISTS (SELECT 1 FROM users u WHERE u.user_id = :userId) AS userExists,
+               r.room_id AS roomId, r.hotel_id AS roomHotelId, r.room_type_id AS roomRoomTypeId,
+               rt.room_type_id AS roomTypeId, rt.hotel_id AS roomTypeHotelId, rt.max_guests AS maxGuests
+        FROM (SELECT 1) AS one
+        LEFT JOIN rooms r ON r.room_id = :roomId
+        LEFT JOIN room_types rt ON rt.room_type_id = :roomTypeId
+        """, nativeQuery = true)
+    BookingReferenceView findBookingReferences(
+        @Param("hotelId") UUID hotelId,
+        @Param("userId") UUID userId,
+        @Param("roomId") UUID roomId,
+        @Param("roomTypeId") UUID roomTypeId);
+
+    // Operational dashboard counts in one statement, for one hotel or all hotels when hotelId is null:
+    // sellable and OCCUPIED rooms, distinct rooms of CHECKED_IN stays, today's CONFIRMED / CHECKED_IN
+    // arrivals and today's CHECKED_IN departures
+    @Query(value = """
+        WITH room_counts AS (
+            SELECT COUNT(*) FILTER (WHERE status <> 'OUT_OF_SERVICE') AS total_rooms,
+                   COUNT(*) FILTER (WHERE status = 'OCCUPIED') AS occupied_rooms
+            FROM rooms
+            WHERE CAST(:hotelId AS uuid) IS NULL OR hotel_id = CAST(:hotelId AS uuid)
+        ), reservation_counts AS (
+            SELECT COUNT(DISTINCT room_id) FILTER (WHERE status = 'CHECKED_IN') AS checked_in_rooms,
+                   COUNT(*) FILTER (WHERE start_date = :today AND status IN ('CONFIRMED', 'CHECKED_IN')) AS arrivals_today,
+                   COUNT(*) FILTER (WHERE start_date = :today AND status = 'CONFIRMED') AS check_ins_pending,
+                   COUNT(*) FILTER (WHERE end_date = :today AND status = 'CHECKED_IN') AS departures_today,
+                   COUNT(*) FILTER (WHERE end_date = :today AND status = 'CHECKED_IN') AS check_outs_pending
+            FROM reservations
+            WHERE (CAST(:hotelId AS uuid) IS NULL OR hotel_id = CAST(:hotelId AS uuid))
+              AND (status = 'CHECKED_IN' OR start_date = :today OR end_date = :today)
+        )
+        SELECT rc.total_rooms AS totalRooms,
+               rc.occupied_rooms AS occupiedRooms,
+               sc.checked_in_rooms AS checkedInRooms,
+               sc.arrivals_today AS arrivalsToday,
+               sc.check_ins_pending AS checkInsPending,
+               sc.departures_today AS departuresToday,
+               sc.check_outs_pending AS checkOutsPending
+        FROM room_counts rc
+        CROSS JOIN reservation_counts sc
+        """, nativeQuery = true)
+    OperationalCountsView countOperational(
+        @Param("hotelId") UUID hotelId,
+        @Param("today") LocalDate today);
+
     // Find cancelled reservations within a date range
     @Query("SELECT r FROM Reservation r WHERE r.status = :status AND " +
            "r.cancelledAt >= :startDate AND r.cancelledAt < :endDate")
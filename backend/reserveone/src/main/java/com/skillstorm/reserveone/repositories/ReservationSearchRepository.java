@@ -0,0 +1,73 @@
+package com.skillstorm.reserveone.repositories;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.reserveone.dto.ReservationResponseDTO;
+import com.skillstorm.reserveone.models.Reservation;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Reservation listings read straight into response DTOs.
+ *
+ * <p>The query selects the reservation's own columns and the foreign keys of its
+ * associations ({@code r.hotel.hotelId} and so on resolve to the FK column, not a join), so a
+ * page costs one statement and no hotel, user, room or room type row is loaded. Filters that
+ * do reach into an association, such as the guest's last name, join only that table.
+ */
+@Repository
+public class ReservationSearchRepository {
+
+    private final EntityManager entityManager;
+
+    public ReservationSearchRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Returns up to {@code limit} reservations matching the specification, ordered by start
+     * date and then reservation ID.
+     */
+    public List<ReservationResponseDTO> findResponses(Specification<Reservation> spec, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReservationResponseDTO> query = cb.createQuery(ReservationResponseDTO.class);
+        Root<Reservation> r = query.from(Reservation.class);
+
+        query.select(cb.construct(ReservationResponseDTO.class,
+            r.get("reservationId"),
+            r.get("hotel").get("hotelId"),
+            r.get("user").get("userId"),
+            r.get("room").get("roomId"),
+            r.get("roomType").get("roomTypeId"),
+            r.get("startDate"),
+            r.get("endDate"),
+            r.get("guestCount"),
+            r.get("status"),
+            r.get("totalAmount"),
+            r.get("currency"),
+            r.get("specialRequests"),
+            r.get("cancellationReason"),
+            r.get("cancelledAt"),
+            r.get("cancelledByUser").get("userId"),
+            r.get("createdAt"),
+            r.get("updatedAt"),
+            r.get("version")));
+
+        Predicate predicate = spec.toPredicate(r, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(r.get("startDate")), cb.asc(r.get("reservationId")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+}
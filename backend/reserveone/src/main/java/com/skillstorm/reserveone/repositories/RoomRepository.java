@@ -1,13 +1,21 @@
 package com.skillstorm.reserveone.repositories;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.skillstorm.reserveone.models.Room;
 import com.skillstorm.reserveone.models.Room.Status;
+import com.skillstorm.reserveone.repositories.projections.BookableRoomView;
+import com.skillstorm.reserveone.repositories.projections.RoomTypeAvailabilityView;
+import com.skillstorm.reserveone.repositories.projections.RoomTypeCountView;
+import com.skillstorm.reserveone.repositories.projections.RoomView;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, UUID> {
@@ -19,5 +27,195 @@ public interface RoomRepository extends JpaRepository<Room, UUID> {
     List<Room> findByHotel_HotelIdAndStatus(UUID hotelId, Status status);
     
     boolean existsByHotel_HotelIdAndRoomNumber(UUID hotelId, String roomNumber);
-}
 
+    long countByRoomType_RoomTypeIdAndStatusNot(UUID roomTypeId, Status status);
+
+    long countByHotel_HotelIdAndStatusNot(UUID hotelId, Status status);
+
+    long countByStatusNot(Status status);
+
+    @Query("SELECT r.roomType.roomTypeId AS roomTypeId, COUNT(r) AS roomCount FROM Room r " +
+           "WHERE r.hotel.hotelId = :hotelId AND r.status <> :excludedStatus " +
+           "GROUP BY r.roomType.roomTypeId")
+    List<RoomTypeCountView> countByHotelGroupedByRoomType(
+        @Param("hotelId") UUID hotelId,
+        @Param("excludedStatus") Status excludedStatus);
+
+    // Bookable rooms (status, hotel, room type, capacity) with no active reservation and no
+    // unexpired ACTIVE hold overlapping [startDate, endDate). The daterange overlaps match
+    // ex_reservations_room_no_overlap / ex_holds_room_no_overlap so both anti-joins are served
+    // by their GiST indexes. Null hotelId / roomTypeId means "any".
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+          AND (CAST(:hotelId AS uuid) IS NULL OR r.hotel_id = CAST(:hotelId AS uuid))
+          AND (CAST(:roomTypeId AS uuid) IS NULL OR r.room_type_id = CAST(:roomTypeId AS uuid))
+          AND rt.max_guests >= :minGuests
+          AND NOT EXISTS (
+              SELECT 1 FROM reservations res
+              WHERE res.room_id = r.room_id
+                AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+                AND daterange(res.start_date, res.end_date, '[)') && daterange(:startDate, :endDate, '[)'))
+          AND NOT EXISTS (
+              SELECT 1 FROM reservation_holds h
+              WHERE h.room_id = r.room_id
+                AND h.status = 'ACTIVE'
+                AND h.expires_at > NOW()
+                AND daterange(h.start_date, h.end_date, '[)') && daterange(:startDate, :endDate, '[)'))
+        ORDER BY r.hotel_id, r.room_number
+        """, nativeQuery = true)
+    List<RoomView> findAvailableRoomViews(
+        @Param("hotelId") UUID hotelId,
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("minGuests") int minGuests,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Caps every later statement of the current transaction, e.g. "1500ms". Postgres cancels a
+    // statement that runs longer, so the connection is freed even if nobody waits for the result
+    @Query(value = "SELECT set_config('statement_timeout', :timeout, true)", nativeQuery = true)
+    String setLocalStatementTimeout(@Param("timeout") String timeout);
+
+    // Same predicates as findAvailableRoomViews without the reservation / hold anti-joins; used
+    // when the in-memory availability index answers the date check
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+          AND (CAST(:hotelId AS uuid) IS NULL OR r.hotel_id = CAST(:hotelId AS uuid))
+          AND (CAST(:roomTypeId AS uuid) IS NULL OR r.room_type_id = CAST(:roomTypeId AS uuid))
+          AND rt.max_guests >= :minGuests
+        ORDER BY r.hotel_id, r.room_number
+        """, nativeQuery = true)
+    List<RoomView> findBookableRoomViews(
+        @Param("hotelId") UUID hotelId,
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("minGuests") int minGuests);
+
+    // Rooms of the given room types with no active reservation or unexpired ACTIVE hold
+    // overlapping [startDate, endDate), cheapest room type first
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+          AND r.room_type_id IN (:roomTypeIds)
+          AND NOT EXISTS (
+              SELECT 1 FROM reservations res
+              WHERE res.room_id = r.room_id
+                AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+                AND daterange(res.start_date, res.end_date, '[)') && daterange(:startDate, :endDate, '[)'))
+          AND NOT EXISTS (
+              SELECT 1 FROM reservation_holds h
+              WHERE h.room_id = r.room_id
+                AND h.status = 'ACTIVE'
+                AND h.expires_at > NOW()
+                AND daterange(h.start_date, h.end_date, '[)') && daterange(:startDate, :endDate, '[)'))
+        ORDER BY rt.base_price, rt.room_type_id, r.room_number
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<RoomView> findAvailableRoomViewsByRoomTypes(
+        @Param("roomTypeIds") List<UUID> roomTypeIds,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("limit") int limit);
+
+    // Rooms of the given room types in AVAILABLE status, cheapest room type first; used when
+    // the in-memory availability index answers the date check
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+          AND r.room_type_id IN (:roomTypeIds)
+        ORDER BY rt.base_price, rt.room_type_id, r.room_number
+        """, nativeQuery = true)
+    List<RoomView> findBookableRoomViewsByRoomTypes(@Param("roomTypeIds") List<UUID> roomTypeIds);
+
+    // AVAILABLE rooms of the given hotels with their room type capacity, for batch searches
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version, rt.max_guests AS maxGuests
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+          AND r.hotel_id IN (:hotelIds)
+        ORDER BY r.hotel_id, r.room_number
+        """, nativeQuery = true)
+    List<BookableRoomView> findBookableRoomViewsByHotels(@Param("hotelIds") List<UUID> hotelIds);
+
+    // Same as above for every hotel
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version, rt.max_guests AS maxGuests
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+        ORDER BY r.hotel_id, r.room_number
+        """, nativeQuery = true)
+    List<BookableRoomView> findAllBookableRoomViews();
+
+    // Sets the status of many rooms in one statement, bumping their optimistic-lock version
+    @Modifying
+    @Query(value = """
+        UPDATE rooms SET status = :status, version = version + 1
+        WHERE room_id IN (:roomIds)
+        """, nativeQuery = true)
+    int updateStatusByIds(@Param("roomIds") List<UUID> roomIds, @Param("status") String status);
+
+    // The given rooms in any status with their room type capacity, for group booking validation
+    @Query(value = """
+        SELECT r.room_id AS roomId, r.hotel_id AS hotelId, r.room_type_id AS roomTypeId,
+               r.room_number AS roomNumber, r.floor AS floor, r.status AS status, r.notes AS notes,
+               r.created_at AS createdAt, r.updated_at AS updatedAt, r.version AS version, rt.max_guests AS maxGuests
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.room_id IN (:roomIds)
+        """, nativeQuery = true)
+    List<BookableRoomView> findRoomViewsWithCapacityByIds(@Param("roomIds") List<UUID> roomIds);
+
+    // Free room counts per room type for [startDate, endDate), same predicates as
+    // findAvailableRoomViews but aggregated in SQL so no room rows leave the database
+    @Query(value = """
+        SELECT rt.hotel_id AS hotelId, rt.room_type_id AS roomTypeId, rt.name AS name,
+               rt.base_price AS basePrice, rt.max_guests AS maxGuests, COUNT(*) AS availableRooms
+        FROM rooms r
+        JOIN room_types rt ON rt.room_type_id = r.room_type_id
+        WHERE r.status = 'AVAILABLE'
+          AND (CAST(:hotelId AS uuid) IS NULL OR r.hotel_id = CAST(:hotelId AS uuid))
+          AND (CAST(:roomTypeId AS uuid) IS NULL OR r.room_type_id = CAST(:roomTypeId AS uuid))
+          AND rt.max_guests >= :minGuests
+          AND NOT EXISTS (
+              SELECT 1 FROM reservations res
+              WHERE res.room_id = r.room_id
+                AND res.status IN ('PENDING', 'CONFIRMED', 'CHECKED_IN')
+                AND daterange(res.start_date, res.end_date, '[)') && daterange(:startDate, :endDate, '[)'))
+          AND NOT EXISTS (
+              SELECT 1 FROM reservation_holds h
+              WHERE h.room_id = r.room_id
+                AND h.status = 'ACTIVE'
+                AND h.expires_at > NOW()
+                AND daterange(h.start_date, h.end_date, '[)') && daterange(:startDate, :endDate, '[)'))
+        GROUP BY rt.hotel_id, rt.room_type_id, rt.name, rt.base_price, rt.max_guests
+        ORDER BY rt.base_price, rt.name
+        """, nativeQuery = true)
+    List<RoomTypeAvailabilityView> countAvailableByRoomType(
+        @Param("hotelId") UUID hotelId,
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("minGuests") int minGuests,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+}
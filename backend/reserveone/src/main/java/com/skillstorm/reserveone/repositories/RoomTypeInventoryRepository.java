@@ -0,0 +1,114 @@
+package com.skillstorm.reserveone.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.skillstorm.reserveone.models.RoomTypeInventory;
+import com.skillstorm.reserveone.models.RoomTypeInventoryId;
+import com.skillstorm.reserveone.repositories.projections.DailySoldView;
+
+@Repository
+public interface RoomTypeInventoryRepository extends JpaRepository<RoomTypeInventory, RoomTypeInventoryId> {
+
+    @Query("SELECT i FROM RoomTypeInventory i WHERE i.roomTypeId = :roomTypeId AND " +
+           "i.stayDate >= :startDate AND i.stayDate < :endDate ORDER BY i.stayDate")
+    List<RoomTypeInventory> findByRoomTypeAndDateRange(
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Ledger rows for every room type of a hotel, for nights in [startDate, endDate]
+    @Query("SELECT i FROM RoomTypeInventory i, RoomType rt WHERE rt.roomTypeId = i.roomTypeId AND " +
+           "rt.hotel.hotelId = :hotelId AND i.stayDate >= :startDate AND i.stayDate <= :endDate")
+    List<RoomTypeInventory> findByHotelAndDateRange(
+        @Param("hotelId") UUID hotelId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Highest number of rooms sold on any night of [startDate, endDate)
+    @Query("SELECT COALESCE(MAX(i.soldCount), 0) FROM RoomTypeInventory i WHERE i.roomTypeId = :roomTypeId AND " +
+           "i.stayDate >= :startDate AND i.stayDate < :endDate")
+    int findPeakSoldCount(
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Rooms sold per night across a hotel's room types, for nights in [startDate, endDate]
+    @Query("SELECT i.stayDate AS stayDate, SUM(i.soldCount) AS soldCount " +
+           "FROM RoomTypeInventory i, RoomType rt WHERE rt.roomTypeId = i.roomTypeId AND " +
+           "rt.hotel.hotelId = :hotelId AND i.stayDate >= :startDate AND i.stayDate <= :endDate " +
+           "GROUP BY i.stayDate")
+    List<DailySoldView> sumSoldByHotelAndDateRange(
+        @Param("hotelId") UUID hotelId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Rooms sold per night across all room types, for nights in [startDate, endDate]
+    @Query("SELECT i.stayDate AS stayDate, SUM(i.soldCount) AS soldCount " +
+           "FROM RoomTypeInventory i WHERE i.stayDate >= :startDate AND i.stayDate <= :endDate " +
+           "GROUP BY i.stayDate")
+    List<DailySoldView> sumSoldByDateRange(
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate);
+
+    // Atomically adds rooms to every night of [startDate, endDate), creating missing rows
+    @Modifying
+    @Query(value = """
+        INSERT INTO room_type_inventory (room_type_id, stay_date, sold_count)
+        SELECT CAST(:roomTypeId AS uuid), CAST(d AS date), :rooms
+        FROM generate_series(CAST(:startDate AS date), CAST(:endDate AS date) - 1, interval '1 day') AS d
+        ON CONFLICT (room_type_id, stay_date)
+        DO UPDATE SET sold_count = room_type_inventory.sold_count + :rooms,
+                      updated_at = NOW()
+        """, nativeQuery = true)
+    int addSoldCount(
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("rooms") int rooms);
+
+    // Atomically takes rooms off every existing night of [startDate, endDate) and returns the
+    // number of nights updated. Never creates rows; taking a night below zero violates
+    // ck_rti_sold_count, so an over-release fails instead of being clamped away
+    @Modifying
+    @Query(value = """
+        UPDATE room_type_inventory
+        SET sold_count = sold_count - :rooms, updated_at = NOW()
+        WHERE room_type_id = CAST(:roomTypeId AS uuid)
+          AND stay_date >= CAST(:startDate AS date) AND stay_date < CAST(:endDate AS date)
+        """, nativeQuery = true)
+    int releaseSoldCount(
+        @Param("roomTypeId") UUID roomTypeId,
+        @Param("startDate") LocalDate startDate,
+        @Param("endDate") LocalDate endDate,
+        @Param("rooms") int rooms);
+
+    @Modifying
+    @Query(value = "DELETE FROM room_type_inventory", nativeQuery = true)
+    int deleteAllRows();
+
+    // Recomputes the whole ledger from reservations that hold inventory; an early check-out
+    // holds nights only up to its check-out day
+    @Modifying
+    @Query(value = """
+        INSERT INTO room_type_inventory (room_type_id, stay_date, sold_count)
+        SELECT r.room_type_id, CAST(d AS date), COUNT(*)
+        FROM reservations r
+        CROSS JOIN LATERAL generate_series(
+            r.start_date,
+            CASE WHEN r.status = 'CHECKED_OUT' AND r.checked_out_on IS NOT NULL
+                 THEN LEAST(r.end_date, GREATEST(r.start_date, r.checked_out_on))
+                 ELSE r.end_date END - 1,
+            interval '1 day') AS d
+        WHERE r.status NOT IN ('CANCELLED', 'NO_SHOW')
+        GROUP BY r.room_type_id, CAST(d AS date)
+        """, nativeQuery = true)
+    int insertFromReservations();
+}
@@ -3,10 +3,14 @@ package com.skillstorm.reserveone.repositories;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.skillstorm.reserveone.models.RoomType;
+import com.skillstorm.reserveone.repositories.projections.RoomTypePriceView;
 
 @Repository
 public interface RoomTypeRepository extends JpaRepository<RoomType, UUID> {
@@ -14,5 +18,12 @@ public interface RoomTypeRepository extends JpaRepository<RoomType, UUID> {
     List<RoomType> findByHotel_HotelId(UUID hotelId);
     
     List<RoomType> findByHotel_HotelIdAndIsActiveTrue(UUID hotelId);
+
+    // Active room types that fit the party, cheapest first (room type ID breaks ties)
+    @Query("SELECT rt.roomTypeId AS roomTypeId, rt.name AS name, rt.basePrice AS basePrice, " +
+           "rt.maxGuests AS maxGuests FROM RoomType rt " +
+           "WHERE rt.isActive = true AND rt.maxGuests >= :minGuests " +
+           "ORDER BY rt.basePrice, rt.roomTypeId")
+    List<RoomTypePriceView> findActiveByPrice(@Param("minGuests") int minGuests, Pageable pageable);
 }
 
@@ -0,0 +1,21 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of an active hold on a room, half-open [startDate, endDate).
+ */
+public interface ActiveHoldView {
+
+    UUID getHoldId();
+
+    UUID getRoomId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    OffsetDateTime getExpiresAt();
+}
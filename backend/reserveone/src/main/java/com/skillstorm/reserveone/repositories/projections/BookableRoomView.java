@@ -0,0 +1,10 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+/**
+ * Room row plus the capacity of its room type, so guest-count filters can be applied
+ * in memory.
+ */
+public interface BookableRoomView extends RoomView {
+
+    Integer getMaxGuests();
+}
@@ -0,0 +1,26 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Result of checking the hotel, user, room and room type referenced by a booking in one
+ * query. Room and room type columns are null when the row does not exist.
+ */
+public interface BookingReferenceView {
+
+    Boolean getHotelExists();
+
+    Boolean getUserExists();
+
+    UUID getRoomId();
+
+    UUID getRoomHotelId();
+
+    UUID getRoomRoomTypeId();
+
+    UUID getRoomTypeId();
+
+    UUID getRoomTypeHotelId();
+
+    Integer getMaxGuests();
+}
@@ -0,0 +1,21 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Occupied rooms, booked arrivals and departures, and guests checked in and out on a single day.
+ */
+public interface DailyOccupancyView {
+
+    LocalDate getStayDate();
+
+    Long getOccupiedRooms();
+
+    Long getArrivals();
+
+    Long getDepartures();
+
+    Long getCheckIns();
+
+    Long getCheckOuts();
+}
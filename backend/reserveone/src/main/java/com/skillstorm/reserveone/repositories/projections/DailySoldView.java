@@ -0,0 +1,13 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.LocalDate;
+
+/**
+ * Rooms sold on a single night, summed across room types.
+ */
+public interface DailySoldView {
+
+    LocalDate getStayDate();
+
+    Long getSoldCount();
+}
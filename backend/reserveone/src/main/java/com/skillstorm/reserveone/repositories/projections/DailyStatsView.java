@@ -0,0 +1,26 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Daily hotel rollup figures for one day, summed across the selected hotels.
+ */
+public interface DailyStatsView {
+
+    LocalDate getStatDate();
+
+    Long getOccupiedRooms();
+
+    Long getArrivals();
+
+    Long getDepartures();
+
+    Long getCheckIns();
+
+    Long getCheckOuts();
+
+    Long getCancellations();
+
+    BigDecimal getRevenue();
+}
@@ -0,0 +1,16 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Rooms of a room type blocked by unexpired holds on a single night.
+ */
+public interface HeldRoomsView {
+
+    UUID getRoomTypeId();
+
+    LocalDate getStayDate();
+
+    Long getHeldCount();
+}
@@ -0,0 +1,21 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+/**
+ * Room and reservation counts behind the operational metrics of one hotel or all hotels.
+ */
+public interface OperationalCountsView {
+
+    Long getTotalRooms();
+
+    Long getOccupiedRooms();
+
+    Long getCheckedInRooms();
+
+    Long getArrivalsToday();
+
+    Long getCheckInsPending();
+
+    Long getDeparturesToday();
+
+    Long getCheckOutsPending();
+}
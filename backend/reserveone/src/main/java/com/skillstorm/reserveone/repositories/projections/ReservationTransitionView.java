@@ -0,0 +1,30 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Reservation and room state needed to validate a check-in or check-out, read for many
+ * reservations in one query. Statuses are the enum names as stored.
+ */
+public interface ReservationTransitionView {
+
+    UUID getReservationId();
+
+    UUID getHotelId();
+
+    String getStatus();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    BigDecimal getTotalAmount();
+
+    UUID getRoomId();
+
+    UUID getRoomTypeId();
+
+    String getRoomStatus();
+}
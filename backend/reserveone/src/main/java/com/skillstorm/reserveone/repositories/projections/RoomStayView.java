@@ -0,0 +1,16 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Lightweight projection of the nights a room is blocked, half-open [startDate, endDate).
+ */
+public interface RoomStayView {
+
+    UUID getRoomId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
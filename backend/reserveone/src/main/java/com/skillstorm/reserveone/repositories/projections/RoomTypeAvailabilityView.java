@@ -0,0 +1,22 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Free room count for one room type over a date range.
+ */
+public interface RoomTypeAvailabilityView {
+
+    UUID getHotelId();
+
+    UUID getRoomTypeId();
+
+    String getName();
+
+    BigDecimal getBasePrice();
+
+    Integer getMaxGuests();
+
+    Long getAvailableRooms();
+}
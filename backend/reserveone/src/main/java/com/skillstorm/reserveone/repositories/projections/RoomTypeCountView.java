@@ -0,0 +1,13 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.util.UUID;
+
+/**
+ * Number of rooms belonging to a room type.
+ */
+public interface RoomTypeCountView {
+
+    UUID getRoomTypeId();
+
+    Long getRoomCount();
+}
@@ -0,0 +1,18 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Room type fields needed to rank rooms by price.
+ */
+public interface RoomTypePriceView {
+
+    UUID getRoomTypeId();
+
+    String getName();
+
+    BigDecimal getBasePrice();
+
+    Integer getMaxGuests();
+}
@@ -0,0 +1,31 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Column-level projection of a room row, used by native availability queries so that
+ * no {@code Room}, {@code Hotel} or {@code RoomType} entities are hydrated.
+ */
+public interface RoomView {
+
+    UUID getRoomId();
+
+    UUID getHotelId();
+
+    UUID getRoomTypeId();
+
+    String getRoomNumber();
+
+    String getFloor();
+
+    String getStatus();
+
+    String getNotes();
+
+    Instant getCreatedAt();
+
+    Instant getUpdatedAt();
+
+    Long getVersion();
+}
@@ -0,0 +1,20 @@
+package com.skillstorm.reserveone.repositories.projections;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A reservation changed by a set-wise lifecycle UPDATE, as returned by its RETURNING clause.
+ */
+public interface SweptReservationView {
+
+    UUID getReservationId();
+
+    UUID getHotelId();
+
+    UUID getRoomId();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
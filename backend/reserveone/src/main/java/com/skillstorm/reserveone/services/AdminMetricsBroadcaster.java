@@ -0,0 +1,169 @@
+package com.skillstorm.reserveone.services;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.skillstorm.reserveone.dto.AdminMetricsUpdateDTO;
+
+/**
+ * Pushes live admin dashboard metrics to connected clients over Server-Sent Events.
+ *
+ * <p>Each stream is for one hotel or for all hotels. A client receives a {@code metrics}
+ * event with the current figures when it connects and again whenever they change. Clients
+ * showing the occupancy report refetch it when an event arrives.
+ *
+ * <p>Committed {@link ReservationChangedEvent}s mark their hotel as changed. On a short
+ * fixed delay ({@code admin.metrics.stream.debounce-ms}) the figures of every affected
+ * stream are recomputed once and sent to all of its clients, and only when they differ
+ * from the last push. A burst of bookings therefore costs one recompute per stream,
+ * however many admins are connected. A comment is sent periodically to keep idle
+ * connections open through proxies.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Component
+public class AdminMetricsBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminMetricsBroadcaster.class);
+
+    public static final String METRICS_EVENT = "metrics";
+
+    private final AdminMetricsService metricsService;
+    private final long timeoutMillis;
+
+    private final Map<StreamKey, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final Map<StreamKey, AdminMetricsUpdateDTO> lastSent = new ConcurrentHashMap<>();
+    // Hotels changed since the last push; a null hotel ID means the hotel is unknown
+    private final Set<StreamKey> changed = ConcurrentHashMap.newKeySet();
+
+    private record StreamKey(UUID hotelId) {
+    }
+
+    public AdminMetricsBroadcaster(
+            AdminMetricsService metricsService,
+            @Value("${admin.metrics.stream.timeout-ms:1800000}") long timeoutMillis) {
+        this.metricsService = metricsService;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Opens a stream for the hotel, or for all hotels when hotelId is null, and sends the
+     * current figures right away.
+     */
+    public SseEmitter subscribe(UUID hotelId) {
+        StreamKey key = new StreamKey(hotelId);
+        AdminMetricsUpdateDTO current = compute(key);
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remove(key, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(key, emitter));
+        subscribers.compute(key, (k, emitters) -> {
+            List<SseEmitter> list = emitters != null ? emitters : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        lastSent.putIfAbsent(key, current);
+
+        send(key, emitter, SseEmitter.event().name(METRICS_EVENT).data(current));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservationChanged(ReservationChangedEvent event) {
+        metricsService.evictSnapshots(event.hotelId());
+        changed.add(new StreamKey(event.hotelId()));
+    }
+
+    /**
+     * Recomputes the streams affected by changes since the last run and pushes figures
+     * that differ from what their clients last received.
+     */
+    @Scheduled(fixedDelayString = "${admin.metrics.stream.debounce-ms:2000}")
+    public void pushChanges() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        Set<UUID> hotels = new HashSet<>();
+        boolean unknownHotel = false;
+        for (Iterator<StreamKey> it = changed.iterator(); it.hasNext();) {
+            UUID hotelId = it.next().hotelId();
+            it.remove();
+            if (hotelId == null) {
+                unknownHotel = true;
+            } else {
+                hotels.add(hotelId);
+            }
+        }
+
+        for (Map.Entry<StreamKey, List<SseEmitter>> entry : subscribers.entrySet()) {
+            StreamKey key = entry.getKey();
+            if (key.hotelId() != null && !unknownHotel && !hotels.contains(key.hotelId())) {
+                continue;
+            }
+            try {
+                AdminMetricsUpdateDTO update = compute(key);
+                if (!update.equals(lastSent.put(key, update))) {
+                    for (SseEmitter emitter : entry.getValue()) {
+                        send(key, emitter, SseEmitter.event().name(METRICS_EVENT).data(update));
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Could not push admin metrics for hotel {}: {}", key.hotelId(), e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${admin.metrics.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach((key, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                send(key, emitter, SseEmitter.event().comment("keepalive"));
+            }
+        });
+    }
+
+    private AdminMetricsUpdateDTO compute(StreamKey key) {
+        return new AdminMetricsUpdateDTO(
+            key.hotelId(),
+            metricsService.getOperationalMetrics(key.hotelId()),
+            metricsService.getCancellationsInPastWeek(key.hotelId()));
+    }
+
+    // A client that has gone away fails the send; drop it so it is not retried
+    private void send(StreamKey key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            remove(key, emitter);
+        }
+    }
+
+    private void remove(StreamKey key, SseEmitter emitter) {
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            if (emitters.isEmpty()) {
+                lastSent.remove(k);
+                return null;
+            }
+            return emitters;
+        });
+    }
+}
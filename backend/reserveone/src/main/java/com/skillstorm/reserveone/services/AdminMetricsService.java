@@ -1,25 +1,25 @@
 package com.skillstorm.reserveone.services;
 
 import java.time.LocalDate;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.skillstorm.reserveone.dto.DailyOccupancyDTO;
 import com.skillstorm.reserveone.dto.OccupancyReportDTO;
 import com.skillstorm.reserveone.dto.OperationalMetricsDTO;
-import com.skillstorm.reserveone.models.Reservation;
-import com.skillstorm.reserveone.models.Reservation.Status;
 import com.skillstorm.reserveone.models.Room;
 import com.skillstorm.reserveone.repositories.ReservationRepository;
 import com.skillstorm.reserveone.repositories.RoomRepository;
+import com.skillstorm.reserveone.repositories.projections.DailyStatsView;
+import com.skillstorm.reserveone.repositories.projections.OperationalCountsView;
 
 /**
  * Service for calculating administrative metrics and operational statistics
@@ -36,20 +36,39 @@ import com.skillstorm.reserveone.repositories.RoomRepository;
 @Transactional(readOnly = true)
 public class AdminMetricsService {
 
+    private static final int MAX_SNAPSHOTS = 1000;
+
     private final RoomRepository roomRepository;
     private final ReservationRepository reservationRepository;
+    private final HotelDailyStatsService statsService;
+    private final long snapshotTtlMillis;
+
+    // Operational metrics per hotel (null hotel ID for all hotels)
+    private final Map<SnapshotKey, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    private record SnapshotKey(UUID hotelId) {
+    }
+
+    private record Snapshot(long loadedAtMillis, LocalDate day, OperationalMetricsDTO metrics) {
+    }
 
     /**
      * Constructs a new AdminMetricsService with the required repositories.
      * 
      * @param roomRepository the repository for room data access
      * @param reservationRepository the repository for reservation data access
+     * @param statsService the daily hotel rollup used for the occupancy report and cancellations
+     * @param snapshotTtlMillis how long an operational metrics snapshot is served before it is recomputed
      */
     public AdminMetricsService(
             RoomRepository roomRepository,
-            ReservationRepository reservationRepository) {
+            ReservationRepository reservationRepository,
+            HotelDailyStatsService statsService,
+            @Value("${admin.metrics.snapshot-ttl-ms:5000}") long snapshotTtlMillis) {
         this.roomRepository = roomRepository;
         this.reservationRepository = reservationRepository;
+        this.statsService = statsService;
+        this.snapshotTtlMillis = snapshotTtlMillis;
     }
 
     /**
@@ -60,9 +79,9 @@ public class AdminMetricsService {
      *   <li><b>Total Rooms:</b> Count of all rooms excluding OUT_OF_SERVICE status</li>
      *   <li><b>Occupied Rooms:</b> Maximum of rooms marked OCCUPIED or rooms with CHECKED_IN reservations</li>
      *   <li><b>Occupancy Rate:</b> Percentage of occupied rooms (occupied/total * 100)</li>
-     *   <li><b>Check-ins Today:</b> Reservations with CHECKED_IN status and startDate = today</li>
+     *   <li><b>Check-ins Today:</b> CONFIRMED and CHECKED_IN reservations with startDate = today</li>
      *   <li><b>Check-ins Pending:</b> CONFIRMED reservations scheduled to check in today</li>
-     *   <li><b>Check-outs Today:</b> Reservations with CHECKED_OUT status and endDate = today</li>
+     *   <li><b>Check-outs Today:</b> CHECKED_IN reservations with endDate = today</li>
      *   <li><b>Check-outs Pending:</b> CHECKED_IN reservations scheduled to check out today</li>
      * </ul>
      * 
@@ -70,126 +89,88 @@ public class AdminMetricsService {
      * explicitly marked as OCCUPIED and rooms with active CHECKED_IN reservations,
      * taking the maximum to ensure accuracy even if room status is out of sync.
      * 
+     * <p>All counts come from a single aggregate query. Every dashboard tab polls this
+     * method, so the result is kept per hotel as a snapshot for a few seconds
+     * ({@code admin.metrics.snapshot-ttl-ms}); polls within that window share one query.
+     * 
      * @param hotelId the UUID of the hotel to calculate metrics for, or null for all hotels
      * @return OperationalMetricsDTO containing all calculated metrics
      */
     public OperationalMetricsDTO getOperationalMetrics(UUID hotelId) {
+        SnapshotKey key = new SnapshotKey(hotelId);
         LocalDate today = LocalDate.now();
-        
-        List<Room> allRooms;
-        if (hotelId != null) {
-            allRooms = roomRepository.findByHotel_HotelId(hotelId);
-        } else {
-            allRooms = roomRepository.findAll();
+        long now = System.currentTimeMillis();
+        Snapshot cached = snapshots.get(key);
+        if (cached != null && cached.day().equals(today) && now - cached.loadedAtMillis() < snapshotTtlMillis) {
+            return cached.metrics();
         }
-        
-        int totalRooms = (int) allRooms.stream()
-            .filter(room -> room.getStatus() != Room.Status.OUT_OF_SERVICE)
-            .count();
-        
-        int occupiedRoomsFromStatus = (int) allRooms.stream()
-            .filter(room -> room.getStatus() == Room.Status.OCCUPIED)
-            .count();
-        
-        List<Reservation> checkedInReservations;
-        if (hotelId != null) {
-            checkedInReservations = reservationRepository.findByHotel_HotelIdAndStatus(
-                hotelId, Status.CHECKED_IN);
-        } else {
-            checkedInReservations = reservationRepository.findByStatus(Status.CHECKED_IN);
+
+        OperationalMetricsDTO metrics = computeOperationalMetrics(hotelId, today);
+        if (snapshots.size() >= MAX_SNAPSHOTS) {
+            snapshots.values().removeIf(snapshot -> now - snapshot.loadedAtMillis() >= snapshotTtlMillis);
         }
+        snapshots.put(key, new Snapshot(now, today, metrics));
+        return metrics;
+    }
+
+    /**
+     * Drops the operational metrics snapshots of the hotel and of all hotels, or every
+     * snapshot when hotelId is null, so the next call recomputes them.
+     */
+    public void evictSnapshots(UUID hotelId) {
+        if (hotelId == null) {
+            snapshots.clear();
+            return;
+        }
+        snapshots.remove(new SnapshotKey(hotelId));
+        snapshots.remove(new SnapshotKey(null));
+    }
+
+    private OperationalMetricsDTO computeOperationalMetrics(UUID hotelId, LocalDate today) {
+        OperationalCountsView counts = reservationRepository.countOperational(hotelId, today);
         
-        long distinctOccupiedRooms = checkedInReservations.stream()
-            .map(res -> res.getRoom().getRoomId())
-            .distinct()
-            .count();
-        
-        int occupiedRooms = Math.max(occupiedRoomsFromStatus, (int) distinctOccupiedRooms);
+        int totalRooms = counts.getTotalRooms().intValue();
+        int occupiedRooms = Math.max(counts.getOccupiedRooms().intValue(), counts.getCheckedInRooms().intValue());
         
         double occupancyRate = totalRooms > 0 
             ? (occupiedRooms * 100.0 / totalRooms) 
             : 0.0;
         
-        // Check-ins Today: All reservations scheduled to check in today (CONFIRMED + CHECKED_IN)
-        List<Reservation> checkInsTodayConfirmed;
-        List<Reservation> checkInsTodayCheckedIn;
-        if (hotelId != null) {
-            checkInsTodayConfirmed = reservationRepository.findByHotel_HotelIdAndStatusAndStartDate(
-                hotelId, Status.CONFIRMED, today);
-            checkInsTodayCheckedIn = reservationRepository.findByHotel_HotelIdAndStatusAndStartDate(
-                hotelId, Status.CHECKED_IN, today);
-        } else {
-            checkInsTodayConfirmed = reservationRepository.findByStatusAndStartDate(Status.CONFIRMED, today);
-            checkInsTodayCheckedIn = reservationRepository.findByStatusAndStartDate(Status.CHECKED_IN, today);
-        }
-        // Combine both lists for total check-ins today
-        List<Reservation> checkInsToday = new ArrayList<>(checkInsTodayConfirmed);
-        checkInsToday.addAll(checkInsTodayCheckedIn);
-        
-        // Check-ins Pending: CONFIRMED reservations scheduled to check in today
-        List<Reservation> checkInsPending = checkInsTodayConfirmed;
-        
-        // Check-outs Today: CHECKED_IN reservations scheduled to check out today
-        List<Reservation> checkOutsToday;
-        if (hotelId != null) {
-            checkOutsToday = reservationRepository.findByHotel_HotelIdAndStatusAndEndDate(
-                hotelId, Status.CHECKED_IN, today);
-        } else {
-            checkOutsToday = reservationRepository.findByStatusAndEndDate(Status.CHECKED_IN, today);
-        }
-        
-        // Check-outs Pending: Same as check-outs today (CHECKED_IN with endDate = today)
-        List<Reservation> checkOutsPending = checkOutsToday;
-        
         return new OperationalMetricsDTO(
             totalRooms,
             occupiedRooms,
             Math.round(occupancyRate * 100.0) / 100.0,
-            checkInsToday.size(),
-            checkInsPending.size(),
-            checkOutsToday.size(),
-            checkOutsPending.size()
+            counts.getArrivalsToday().intValue(),
+            counts.getCheckInsPending().intValue(),
+            counts.getDeparturesToday().intValue(),
+            counts.getCheckOutsPending().intValue()
         );
     }
 
     /**
      * Counts the number of cancelled reservations in the past 7 days.
      * 
-     * <p>This method queries for reservations that:
-     * <ul>
-     *   <li>Have status CANCELLED</li>
-     *   <li>Were cancelled between 7 days ago and now</li>
-     *   <li>Optionally filtered by hotelId if provided</li>
-     * </ul>
-     * 
-     * <p>The time range uses OffsetDateTime to ensure accurate timezone-aware
-     * calculations. The cancellation timestamp (cancelledAt) must be within
-     * the 7-day window.
+     * <p>Sums the cancellations of the daily hotel rollup over the last seven days,
+     * today included, optionally for a single hotel. A cancellation is counted on the
+     * day of its cancellation timestamp (cancelledAt).
      * 
      * @param hotelId the UUID of the hotel to filter by, or null for all hotels
      * @return the count of cancellations in the past week
      */
     public int getCancellationsInPastWeek(UUID hotelId) {
-        OffsetDateTime now = OffsetDateTime.now();
-        OffsetDateTime weekAgo = now.minusDays(7);
+        LocalDate today = LocalDate.now();
         
-        List<Reservation> cancellations;
-        if (hotelId != null) {
-            cancellations = reservationRepository.findByHotel_HotelIdAndStatusAndCancelledAtBetween(
-                hotelId, Status.CANCELLED, weekAgo, now);
-        } else {
-            cancellations = reservationRepository.findByStatusAndCancelledAtBetween(
-                Status.CANCELLED, weekAgo, now);
+        int cancellations = 0;
+        for (DailyStatsView day : statsService.getDailyStats(hotelId, today.minusDays(6), today)) {
+            cancellations += day.getCancellations().intValue();
         }
-        
-        return cancellations.size();
+        return cancellations;
     }
 
     /**
      * Generates a detailed occupancy report for a specified date range.
      * 
-     * <p>This method performs complex calculations to produce daily occupancy statistics
-     * including:
+     * <p>This method produces daily occupancy statistics including:
      * <ul>
      *   <li>Daily occupied room counts</li>
      *   <li>Daily occupancy rates (percentage)</li>
@@ -199,24 +180,24 @@ public class AdminMetricsService {
      * 
      * <p><b>Algorithm:</b>
      * <ol>
-     *   <li>Initializes a map with zero occupancy for each day in the range</li>
-     *   <li>Processes all active (non-cancelled) reservations that overlap the date range</li>
-     *   <li>For each reservation:
-     *     <ul>
-     *       <li>Increments check-in count on the reservation start date (if in range)</li>
-     *       <li>Increments check-out count on the reservation end date (if in range)</li>
-     *       <li>Increments occupied room count for each day from startDate to endDate-1
-     *           (check-out day is not counted as occupied)</li>
-     *     </ul>
-     *   </li>
+     *   <li>Counts sellable (not OUT_OF_SERVICE) rooms</li>
+     *   <li>Reads the occupied, check-in and check-out counts of each day from the daily
+     *       hotel rollup (zero for days with no activity)</li>
      *   <li>Calculates occupancy rates for each day (occupied/total * 100)</li>
      *   <li>Computes aggregate statistics (average, peak, totals)</li>
      * </ol>
      * 
+     * <p>The rollup holds one row per hotel and day, so the cost depends only on the length
+     * of the range, not on the number of reservations.
+     * 
      * <p><b>Important Notes:</b>
      * <ul>
      *   <li>Rooms are considered occupied from startDate up to (but not including) endDate</li>
-     *   <li>Only non-cancelled reservations are included in calculations</li>
+     *   <li>Cancelled and no-show reservations are excluded</li>
+     *   <li>Check-ins count guests who actually arrived (CHECKED_IN or CHECKED_OUT), on the
+     *       stay's start date; PENDING and CONFIRMED stays are not counted</li>
+     *   <li>Check-outs count guests who actually left (CHECKED_OUT), on the day they checked
+     *       out</li>
      *   <li>Reservations that partially overlap the date range are included</li>
      *   <li>Peak occupancy date is the day with the highest occupancy rate</li>
      * </ul>
@@ -228,94 +209,14 @@ public class AdminMetricsService {
      * @throws IllegalArgumentException if startDate is after endDate
      */
     public OccupancyReportDTO getOccupancyReport(UUID hotelId, LocalDate startDate, LocalDate endDate) {
-        // Get total rooms
-        List<Room> allRooms;
-        if (hotelId != null) {
-            allRooms = roomRepository.findByHotel_HotelId(hotelId);
-        } else {
-            allRooms = roomRepository.findAll();
-        }
-        
-        int totalRooms = (int) allRooms.stream()
-            .filter(room -> room.getStatus() != Room.Status.OUT_OF_SERVICE)
-            .count();
-        
-        // Get all reservations in the date range
-        List<Reservation> allReservations;
-        if (hotelId != null) {
-            allReservations = reservationRepository.findByHotel_HotelId(hotelId);
-        } else {
-            allReservations = reservationRepository.findAll();
-        }
-        
-        // Filter reservations that overlap with the date range and are not cancelled
-        List<Reservation> activeReservations = allReservations.stream()
-            .filter(r -> r.getStatus() != Status.CANCELLED)
-            .filter(r -> !r.getEndDate().isBefore(startDate) && !r.getStartDate().isAfter(endDate))
-            .collect(Collectors.toList());
-        
-        // Initialize daily data map
-        Map<LocalDate, DailyOccupancyDTO> dailyDataMap = new HashMap<>();
-        LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            dailyDataMap.put(currentDate, new DailyOccupancyDTO(
-                currentDate, 0, totalRooms, 0.0, 0, 0));
-            currentDate = currentDate.plusDays(1);
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
         }
-        
-        // Process reservations to calculate occupancy
-        for (Reservation reservation : activeReservations) {
-            LocalDate resStart = reservation.getStartDate();
-            LocalDate resEnd = reservation.getEndDate();
-            
-            // Count check-ins and check-outs
-            if (!resStart.isBefore(startDate) && !resStart.isAfter(endDate)) {
-                DailyOccupancyDTO dayData = dailyDataMap.get(resStart);
-                if (dayData != null) {
-                    dailyDataMap.put(resStart, new DailyOccupancyDTO(
-                        dayData.date(),
-                        dayData.occupiedRooms(),
-                        dayData.totalRooms(),
-                        dayData.occupancyRate(),
-                        dayData.checkIns() + 1,
-                        dayData.checkOuts()));
-                }
-            }
-            
-            if (!resEnd.isBefore(startDate) && !resEnd.isAfter(endDate)) {
-                DailyOccupancyDTO dayData = dailyDataMap.get(resEnd);
-                if (dayData != null) {
-                    dailyDataMap.put(resEnd, new DailyOccupancyDTO(
-                        dayData.date(),
-                        dayData.occupiedRooms(),
-                        dayData.totalRooms(),
-                        dayData.occupancyRate(),
-                        dayData.checkIns(),
-                        dayData.checkOuts() + 1));
-                }
-            }
-            
-            // Count occupied rooms for each day of the stay
-            // Room is occupied from startDate up to (but not including) resEnd (check-out day)
-            LocalDate day = resStart.isBefore(startDate) ? startDate : resStart;
-            
-            // Room is occupied while day < resEnd (check-out day is not occupied)
-            // But also limit to the report date range (day <= endDate)
-            while (day.isBefore(resEnd) && !day.isAfter(endDate)) {
-                DailyOccupancyDTO dayData = dailyDataMap.get(day);
-                if (dayData != null) {
-                    dailyDataMap.put(day, new DailyOccupancyDTO(
-                        dayData.date(),
-                        dayData.occupiedRooms() + 1,
-                        dayData.totalRooms(),
-                        dayData.occupancyRate(),
-                        dayData.checkIns(),
-                        dayData.checkOuts()));
-                }
-                day = day.plusDays(1);
-            }
-        }
-        
+
+        int totalRooms = (int) (hotelId != null
+            ? roomRepository.countByHotel_HotelIdAndStatusNot(hotelId, Room.Status.OUT_OF_SERVICE)
+            : roomRepository.countByStatusNot(Room.Status.OUT_OF_SERVICE));
+
         // Calculate occupancy rates and create final list
         List<DailyOccupancyDTO> dailyData = new ArrayList<>();
         double totalOccupancyRate = 0.0;
@@ -324,30 +225,34 @@ public class AdminMetricsService {
         int totalCheckIns = 0;
         int totalCheckOuts = 0;
         
+        Map<LocalDate, DailyStatsView> statsByDate = new HashMap<>();
+        for (DailyStatsView day : statsService.getDailyStats(hotelId, startDate, endDate)) {
+            statsByDate.put(day.getStatDate(), day);
+        }
+        
         for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            DailyOccupancyDTO dayData = dailyDataMap.get(date);
-            if (dayData != null) {
-                double occupancyRate = totalRooms > 0 
-                    ? (dayData.occupiedRooms() * 100.0 / totalRooms) 
-                    : 0.0;
-                
-                DailyOccupancyDTO finalData = new DailyOccupancyDTO(
-                    dayData.date(),
-                    dayData.occupiedRooms(),
-                    dayData.totalRooms(),
-                    Math.round(occupancyRate * 100.0) / 100.0,
-                    dayData.checkIns(),
-                    dayData.checkOuts());
-                
-                dailyData.add(finalData);
-                totalOccupancyRate += occupancyRate;
-                totalCheckIns += dayData.checkIns();
-                totalCheckOuts += dayData.checkOuts();
-                
-                if (occupancyRate > peakOccupancyRate) {
-                    peakOccupancyRate = occupancyRate;
-                    peakDate = date;
-                }
+            DailyStatsView day = statsByDate.get(date);
+            int occupiedRooms = day != null ? day.getOccupiedRooms().intValue() : 0;
+            int checkIns = day != null ? day.getCheckIns().intValue() : 0;
+            int checkOuts = day != null ? day.getCheckOuts().intValue() : 0;
+            double occupancyRate = totalRooms > 0 
+                ? (occupiedRooms * 100.0 / totalRooms) 
+                : 0.0;
+            
+            dailyData.add(new DailyOccupancyDTO(
+                date,
+                occupiedRooms,
+                totalRooms,
+                Math.round(occupancyRate * 100.0) / 100.0,
+                checkIns,
+                checkOuts));
+            totalOccupancyRate += occupancyRate;
+            totalCheckIns += checkIns;
+            totalCheckOuts += checkOuts;
+            
+            if (occupancyRate > peakOccupancyRate) {
+                peakOccupancyRate = occupancyRate;
+                peakDate = date;
             }
         }
         
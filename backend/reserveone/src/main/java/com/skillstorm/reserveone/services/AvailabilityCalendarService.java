@@ -0,0 +1,241 @@
+package com.skillstorm.reserveone.services;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.skillstorm.reserveone.dto.AvailabilityCalendarDTO;
+import com.skillstorm.reserveone.dto.RoomTypeCalendarRowDTO;
+import com.skillstorm.reserveone.exceptions.ResourceNotFoundException;
+import com.skillstorm.reserveone.models.Room;
+import com.skillstorm.reserveone.models.RoomType;
+import com.skillstorm.reserveone.models.RoomTypeInventory;
+import com.skillstorm.reserveone.repositories.HotelRepository;
+import com.skillstorm.reserveone.repositories.ReservationHoldRepository;
+import com.skillstorm.reserveone.repositories.RoomRepository;
+import com.skillstorm.reserveone.repositories.RoomTypeInventoryRepository;
+import com.skillstorm.reserveone.repositories.RoomTypeRepository;
+import com.skillstorm.reserveone.repositories.projections.HeldRoomsView;
+import com.skillstorm.reserveone.repositories.projections.RoomTypeCountView;
+
+/**
+ * Service that builds the hotel availability calendar: free room counts for every active
+ * room type of a hotel on every night of a date range.
+ *
+ * <p>Each month of the grid is computed in one pass over the room-type inventory ledger
+ * (one ledger query, one room count query) and cached per hotel and month. Entries are
+ * evicted after any committed change to the hotel's reservations or rooms, and expire
+ * after a short TTL so changes made on other instances are picked up. Every cached month
+ * records the hotel's eviction generation it was computed under; an entry from an older
+ * generation is never served, even if it was stored after the eviction.
+ *
+ * <p>Rooms blocked by ACTIVE, unexpired reservation holds are subtracted on every request
+ * with one small query, outside the cache, because holds come and go within minutes. The
+ * free counts therefore match what {@code /rooms/available} offers.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Service
+public class AvailabilityCalendarService {
+
+    private static final long MAX_RANGE_DAYS = 186;
+    private static final int MAX_CACHED_MONTHS = 2000;
+
+    private final RoomTypeInventoryRepository inventoryRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomRepository roomRepository;
+    private final HotelRepository hotelRepository;
+    private final ReservationHoldRepository holdRepository;
+    private final long ttlMillis;
+
+    private final Map<CacheKey, MonthMatrix> cache = new ConcurrentHashMap<>();
+    // Bumped on every eviction so a month computed from pre-eviction data is not cached
+    private final Map<UUID, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private record CacheKey(UUID hotelId, YearMonth month) {
+    }
+
+    private record TypeRow(UUID roomTypeId, String name, int totalRooms, int[] availableByDay) {
+    }
+
+    private record MonthMatrix(long loadedAtMillis, long generation, List<TypeRow> rows) {
+    }
+
+    public AvailabilityCalendarService(
+            RoomTypeInventoryRepository inventoryRepository,
+            RoomTypeRepository roomTypeRepository,
+            RoomRepository roomRepository,
+            HotelRepository hotelRepository,
+            ReservationHoldRepository holdRepository,
+            @Value("${availability.calendar.ttl-ms:60000}") long ttlMillis) {
+        this.inventoryRepository = inventoryRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomRepository = roomRepository;
+        this.hotelRepository = hotelRepository;
+        this.holdRepository = holdRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the availability grid for a hotel over the nights from {@code from} to
+     * {@code to}, both inclusive.
+     *
+     * @param hotelId the UUID of the hotel
+     * @param from the first night, or null for today
+     * @param to the last night, or null for the last day of the month containing {@code from}
+     * @return AvailabilityCalendarDTO with one row per active room type, one column per night;
+     *         counts exclude rooms that are sold or held by an unexpired hold
+     * @throws IllegalArgumentException if {@code to} is before {@code from} or the range exceeds the limit
+     * @throws ResourceNotFoundException if the hotel does not exist
+     */
+    @Transactional(readOnly = true)
+    public AvailabilityCalendarDTO getCalendar(UUID hotelId, LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.with(TemporalAdjusters.lastDayOfMonth());
+
+        if (end.isBefore(start)) {
+            throw new IllegalArgumentException("'to' date cannot be before 'from' date");
+        }
+        if (ChronoUnit.DAYS.between(start, end) >= MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Calendar range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<LocalDate> dates = new ArrayList<>();
+        Map<UUID, TypeRow> typesById = new LinkedHashMap<>();
+        Map<UUID, List<Integer>> availableById = new HashMap<>();
+
+        for (YearMonth month = YearMonth.from(start); !month.isAfter(YearMonth.from(end)); month = month.plusMonths(1)) {
+            MonthMatrix matrix = getMonth(hotelId, month);
+            LocalDate first = month.atDay(1).isBefore(start) ? start : month.atDay(1);
+            LocalDate last = month.atEndOfMonth().isAfter(end) ? end : month.atEndOfMonth();
+            int offset = dates.size();
+
+            for (TypeRow row : matrix.rows()) {
+                typesById.putIfAbsent(row.roomTypeId(), row);
+                List<Integer> available = availableById.computeIfAbsent(row.roomTypeId(), id -> new ArrayList<>());
+                // A room type created after an earlier month was cached has no free rooms there
+                while (available.size() < offset) {
+                    available.add(0);
+                }
+                for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                    available.add(row.availableByDay()[day.getDayOfMonth() - 1]);
+                }
+            }
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                dates.add(day);
+            }
+        }
+
+        // Holds are short-lived, so they are read fresh rather than cached with the month
+        for (HeldRoomsView held : holdRepository.countHeldRoomsByNight(hotelId, OffsetDateTime.now(), start, end.plusDays(1))) {
+            List<Integer> available = availableById.get(held.getRoomTypeId());
+            int index = (int) ChronoUnit.DAYS.between(start, held.getStayDate());
+            if (available != null && index < available.size()) {
+                available.set(index, Math.max(available.get(index) - held.getHeldCount().intValue(), 0));
+            }
+        }
+
+        List<RoomTypeCalendarRowDTO> rows = new ArrayList<>();
+        for (TypeRow row : typesById.values()) {
+            List<Integer> available = availableById.get(row.roomTypeId());
+            while (available.size() < dates.size()) {
+                available.add(0);
+            }
+            rows.add(new RoomTypeCalendarRowDTO(row.roomTypeId(), row.name(), row.totalRooms(), available));
+        }
+        return new AvailabilityCalendarDTO(hotelId, start, end, dates, rows);
+    }
+
+    /**
+     * Drops every cached month of the hotel once the current transaction commits.
+     */
+    public void evictAfterCommit(UUID hotelId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(hotelId);
+                }
+            });
+        } else {
+            evict(hotelId);
+        }
+    }
+
+    /**
+     * Drops every cached month of the hotel immediately.
+     */
+    public void evict(UUID hotelId) {
+        generations.computeIfAbsent(hotelId, id -> new AtomicLong()).incrementAndGet();
+        cache.keySet().removeIf(key -> key.hotelId().equals(hotelId));
+    }
+
+    private MonthMatrix getMonth(UUID hotelId, YearMonth month) {
+        CacheKey key = new CacheKey(hotelId, month);
+        long now = System.currentTimeMillis();
+        AtomicLong generation = generations.computeIfAbsent(hotelId, id -> new AtomicLong());
+        long current = generation.get();
+        MonthMatrix cached = cache.get(key);
+        if (cached != null && cached.generation() == current && now - cached.loadedAtMillis() < ttlMillis) {
+            return cached;
+        }
+
+        MonthMatrix computed = computeMonth(hotelId, month, now, current);
+        if (cache.size() >= MAX_CACHED_MONTHS) {
+            cache.values().removeIf(matrix -> now - matrix.loadedAtMillis() >= ttlMillis);
+        }
+        // Store only if no eviction happened since the generation was read; one landing after
+        // this check leaves an entry of an older generation, which the read above rejects
+        cache.compute(key, (k, existing) -> generation.get() == current ? computed : existing);
+        return computed;
+    }
+
+    private MonthMatrix computeMonth(UUID hotelId, YearMonth month, long now, long generation) {
+        List<RoomType> roomTypes = new ArrayList<>(roomTypeRepository.findByHotel_HotelIdAndIsActiveTrue(hotelId));
+        if (roomTypes.isEmpty() && !hotelRepository.existsById(hotelId)) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + hotelId);
+        }
+        roomTypes.sort(Comparator.comparing(RoomType::getName));
+
+        Map<UUID, Integer> totalByType = new HashMap<>();
+        for (RoomTypeCountView count : roomRepository.countByHotelGroupedByRoomType(hotelId, Room.Status.OUT_OF_SERVICE)) {
+            totalByType.put(count.getRoomTypeId(), count.getRoomCount().intValue());
+        }
+
+        int days = month.lengthOfMonth();
+        Map<UUID, int[]> soldByType = new HashMap<>();
+        for (RoomTypeInventory row : inventoryRepository.findByHotelAndDateRange(hotelId, month.atDay(1), month.atEndOfMonth())) {
+            soldByType.computeIfAbsent(row.getRoomTypeId(), id -> new int[days])[row.getStayDate().getDayOfMonth() - 1] = row.getSoldCount();
+        }
+
+        List<TypeRow> rows = new ArrayList<>(roomTypes.size());
+        for (RoomType roomType : roomTypes) {
+            int total = totalByType.getOrDefault(roomType.getRoomTypeId(), 0);
+            int[] sold = soldByType.getOrDefault(roomType.getRoomTypeId(), new int[days]);
+            int[] available = new int[days];
+            for (int i = 0; i < days; i++) {
+                available[i] = Math.max(total - sold[i], 0);
+            }
+            rows.add(new TypeRow(roomType.getRoomTypeId(), roomType.getName(), total, available));
+        }
+        return new MonthMatrix(now, generation, rows);
+    }
+}
@@ -0,0 +1,88 @@
+package com.skillstorm.reserveone.services;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.skillstorm.reserveone.services.EmailOutboxService.OutgoingEmail;
+
+/**
+ * Background sender for the email outbox.
+ *
+ * <p>Each run claims a batch of due rows, sends the batch over one SMTP connection with no
+ * transaction or database connection held, and records the results. Runs keep draining
+ * full batches, up to {@code MAX_BATCHES_PER_RUN}, so a backlog clears without waiting for
+ * the next poll. Several instances can run the dispatcher at once; rows are claimed with
+ * {@code FOR UPDATE SKIP LOCKED}.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final int batchSize;
+
+    public EmailOutboxDispatcher(
+            EmailOutboxService outboxService,
+            EmailService emailService,
+            @Value("${mail.outbox.batch-size:20}") int batchSize) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(
+        initialDelayString = "${mail.outbox.poll-ms:5000}",
+        fixedDelayString = "${mail.outbox.poll-ms:5000}")
+    public void dispatch() {
+        try {
+            for (int i = 0; i < MAX_BATCHES_PER_RUN; i++) {
+                if (dispatchBatch() < batchSize) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            // Claimed rows become due again when their lease runs out
+            log.error("Email outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OutgoingEmail> batch = outboxService.claimBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, UUID> idsByMessage = new IdentityHashMap<>();
+        for (OutgoingEmail email : batch) {
+            if (email.message() != null) {
+                idsByMessage.put(email.message(), email.outboxId());
+            }
+        }
+
+        Map<UUID, String> errors = new HashMap<>();
+        emailService.sendAll(List.copyOf(idsByMessage.keySet())).forEach((message, cause) ->
+            errors.put(idsByMessage.get(message), Objects.toString(cause.getMessage(), cause.getClass().getName())));
+
+        outboxService.recordResults(batch, errors);
+        log.info("Email outbox: sent {} of {} claimed messages", idsByMessage.size() - errors.size(), batch.size());
+        return batch.size();
+    }
+}
@@ -0,0 +1,181 @@
+package com.skillstorm.reserveone.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.reserveone.models.EmailOutboxMessage;
+import com.skillstorm.reserveone.models.EmailOutboxMessage.MessageType;
+import com.skillstorm.reserveone.models.Reservation;
+import com.skillstorm.reserveone.repositories.EmailOutboxRepository;
+import com.skillstorm.reserveone.repositories.ReservationRepository;
+
+/**
+ * Service for the email outbox.
+ *
+ * <p>Callers enqueue an email inside their own transaction, so the email exists if and only
+ * if the change that caused it commits, and the transaction never waits on the mail server.
+ * {@link EmailOutboxDispatcher} then claims due rows in short transactions, sends them with
+ * no transaction open, and records the outcome here.
+ *
+ * <p>A failed send is retried after {@code mail.outbox.backoff-ms}, doubled on every attempt
+ * and capped at one hour, until {@code mail.outbox.max-attempts} is reached; the row is then
+ * marked FAILED with the last error.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 3_600_000;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final ReservationRepository reservationRepository;
+    private final EmailService emailService;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long leaseMillis;
+
+    /**
+     * A claimed outbox row ready to send. {@code message} is null when the row cannot be
+     * sent at all, with the reason in {@code skipReason}.
+     */
+    public record OutgoingEmail(UUID outboxId, int attempts, SimpleMailMessage message, String skipReason) {
+    }
+
+    public EmailOutboxService(
+            EmailOutboxRepository outboxRepository,
+            ReservationRepository reservationRepository,
+            EmailService emailService,
+            @Value("${mail.outbox.max-attempts:6}") int maxAttempts,
+            @Value("${mail.outbox.backoff-ms:30000}") long backoffMillis,
+            @Value("${mail.outbox.lease-ms:120000}") long leaseMillis) {
+        this.outboxRepository = outboxRepository;
+        this.reservationRepository = reservationRepository;
+        this.emailService = emailService;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Queues the confirmation email for a reservation. Must run inside the transaction that
+     * creates the reservation.
+     */
+    public void enqueueReservationConfirmation(UUID reservationId) {
+        outboxRepository.save(new EmailOutboxMessage(MessageType.RESERVATION_CONFIRMATION, reservationId));
+    }
+
+    /**
+     * Queues one consolidated confirmation email for a group booking, given any reservation
+     * of the group. Must run inside the transaction that creates the group.
+     */
+    public void enqueueGroupConfirmation(UUID reservationId) {
+        outboxRepository.save(new EmailOutboxMessage(MessageType.GROUP_CONFIRMATION, reservationId));
+    }
+
+    /**
+     * Claims up to {@code limit} due rows for this instance and renders their messages.
+     * Claimed rows stay invisible to other instances until the lease runs out.
+     *
+     * @return the claimed rows, oldest first; empty when nothing is due
+     */
+    public List<OutgoingEmail> claimBatch(int limit) {
+        List<UUID> ids = outboxRepository.lockDueIds(limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        outboxRepository.markSending(ids, leaseMillis);
+
+        Map<UUID, EmailOutboxMessage> rows = outboxRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(EmailOutboxMessage::getOutboxId, Function.identity()));
+        Map<UUID, Reservation> reservations = reservationRepository.findWithDetailsByReservationIdIn(
+                rows.values().stream().map(EmailOutboxMessage::getReservationId).distinct().toList())
+            .stream()
+            .collect(Collectors.toMap(Reservation::getReservationId, Function.identity()));
+
+        List<OutgoingEmail> batch = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            EmailOutboxMessage row = rows.get(id);
+            int attempts = row.getAttempts();
+            Reservation reservation = reservations.get(row.getReservationId());
+
+            // A row that keeps coming back after its lease (the sender died mid-send) is given up on too
+            if (attempts > maxAttempts) {
+                batch.add(new OutgoingEmail(id, attempts, null, "Gave up after " + maxAttempts + " attempts"));
+            } else if (reservation == null) {
+                batch.add(new OutgoingEmail(id, attempts, null, "Reservation no longer exists"));
+            } else {
+                batch.add(render(row, reservation)
+                    .map(message -> new OutgoingEmail(id, attempts, message, null))
+                    .orElseGet(() -> new OutgoingEmail(id, attempts, null, "User has no email address")));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Records the outcome of sending a claimed batch: rows without an error are marked SENT,
+     * failed rows are rescheduled with backoff or marked FAILED once out of attempts, and
+     * unsendable rows are marked FAILED.
+     *
+     * @param batch the rows returned by {@link #claimBatch(int)}
+     * @param errors error messages keyed by outbox ID for the rows whose send failed
+     */
+    public void recordResults(List<OutgoingEmail> batch, Map<UUID, String> errors) {
+        List<UUID> sent = new ArrayList<>();
+        for (OutgoingEmail email : batch) {
+            if (email.message() == null) {
+                log.warn("Email {} will not be sent: {}", email.outboxId(), email.skipReason());
+                outboxRepository.markFailed(email.outboxId(), email.skipReason());
+                continue;
+            }
+
+            String error = errors.get(email.outboxId());
+            if (error == null) {
+                sent.add(email.outboxId());
+            } else if (email.attempts() >= maxAttempts) {
+                log.error("Email {} failed after {} attempts: {}", email.outboxId(), email.attempts(), error);
+                outboxRepository.markFailed(email.outboxId(), truncate(error));
+            } else {
+                outboxRepository.scheduleRetry(email.outboxId(), backoffFor(email.attempts()), truncate(error));
+            }
+        }
+        if (!sent.isEmpty()) {
+            outboxRepository.markSent(sent);
+        }
+    }
+
+    private Optional<SimpleMailMessage> render(EmailOutboxMessage row, Reservation reservation) {
+        if (row.getMessageType() == MessageType.GROUP_CONFIRMATION && reservation.getGroupId() != null) {
+            return emailService.buildGroupConfirmation(
+                reservationRepository.findByGroupIdOrderByStartDateAscReservationIdAsc(reservation.getGroupId()));
+        }
+        return emailService.buildReservationConfirmation(reservation);
+    }
+
+    private long backoffFor(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(backoffMillis << doublings, MAX_BACKOFF_MILLIS);
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
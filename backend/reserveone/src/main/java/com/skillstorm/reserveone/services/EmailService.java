@@ -1,10 +1,15 @@
 package com.skillstorm.reserveone.services;
 
 import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -28,38 +33,89 @@ public class EmailService {
     }
 
     /**
-     * Sends a reservation confirmation email to the user.
-     * 
-     * @param reservation The reservation details
-     * @param user The user who made the reservation
+     * Builds the confirmation email for a reservation, addressed to the user who made it.
+     *
+     * @param reservation The reservation details, with hotel, user, room and room type loaded
+     * @return the message, or empty if the user has no email address
      */
-    public void sendReservationConfirmation(Reservation reservation, User user) {
+    public Optional<SimpleMailMessage> buildReservationConfirmation(Reservation reservation) {
+        User user = reservation.getUser();
         String userEmail = user.getEmail();
-        
+
         // Only send email if user has an email address
         if (userEmail == null || userEmail.isBlank()) {
             log.warn("Cannot send confirmation email: user {} has no email address", user.getUserId());
-            return;
+            return Optional.empty();
         }
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(userEmail);
-            message.setSubject("Reservation Confirmation - " + reservation.getHotel().getName());
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(userEmail);
+        message.setSubject("Reservation Confirmation - " + reservation.getHotel().getName());
+        message.setText(buildReservationConfirmationEmail(reservation, user));
+        return Optional.of(message);
+    }
 
-            String emailBody = buildReservationConfirmationEmail(reservation, user);
-            message.setText(emailBody);
+    /**
+     * Builds one consolidated confirmation email for the reservations of a group booking,
+     * addressed to the user who made them.
+     *
+     * @param reservations The reservations of the group, with hotel, user, room and room type loaded
+     * @return the message, or empty if the user has no email address
+     */
+    public Optional<SimpleMailMessage> buildGroupConfirmation(List<Reservation> reservations) {
+        Reservation first = reservations.get(0);
+        User user = first.getUser();
+        String userEmail = user.getEmail();
 
-            mailSender.send(message);
-            log.info("Reservation confirmation email sent successfully to {} for reservation {}", 
-                    userEmail, reservation.getReservationId());
+        if (userEmail == null || userEmail.isBlank()) {
+            log.warn("Cannot send group confirmation email: user {} has no email address", user.getUserId());
+            return Optional.empty();
+        }
 
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(userEmail);
+        message.setSubject("Group Reservation Confirmation - " + first.getHotel().getName()
+                + " (" + reservations.size() + " rooms)");
+        message.setText(buildGroupConfirmationEmail(reservations, user));
+        return Optional.of(message);
+    }
+
+    /**
+     * Sends messages over a single SMTP connection.
+     *
+     * @param messages The messages to send
+     * @return the messages that could not be sent, with the cause; empty when all were sent
+     */
+    public Map<SimpleMailMessage, Exception> sendAll(List<SimpleMailMessage> messages) {
+        Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            // Per-message failures; the rest of the batch went out
+            e.getFailedMessages().forEach((message, cause) -> {
+                if (message instanceof SimpleMailMessage simple) {
+                    failures.put(simple, cause);
+                }
+            });
+            if (failures.isEmpty()) {
+                messages.forEach(message -> failures.put(message, e));
+            }
         } catch (Exception e) {
-            // Log error but don't throw - we don't want email failures to break reservation creation
-            log.error("Failed to send reservation confirmation email to {} for reservation {}: {}", 
-                    userEmail, reservation.getReservationId(), e.getMessage(), e);
+            // Connection or authentication failure: nothing was sent
+            messages.forEach(message -> failures.put(message, e));
+        }
+
+        if (!failures.isEmpty()) {
+            log.error("Failed to send {} of {} emails: {}", failures.size(), messages.size(),
+                    failures.values().iterator().next().getMessage());
         }
+        return failures;
     }
 
     private String buildReservationConfirmationEmail(Reservation reservation, User user) {
@@ -113,6 +169,57 @@ public class EmailService {
         return body.toString();
     }
 
+    private String buildGroupConfirmationEmail(List<Reservation> reservations, User user) {
+        Reservation first = reservations.get(0);
+        StringBuilder body = new StringBuilder();
+
+        body.append("Dear ").append(formatGuestName(user)).append(",\n\n");
+        body.append("Thank you for your group reservation! We're pleased to confirm ")
+            .append(reservations.size()).append(" rooms with us.\n\n");
+
+        body.append("GROUP DETAILS:\n");
+        body.append("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━\n");
+        body.append("Group ID: ").append(first.getGroupId()).append("\n");
+        body.append("Hotel: ").append(first.getHotel().getName()).append("\n");
+        body.append("Address: ").append(formatAddress(first.getHotel())).append("\n");
+        body.append("Phone: ").append(first.getHotel().getPhone()).append("\n\n");
+
+        body.append("Check-in:  ").append(first.getStartDate().format(DATE_FORMATTER)).append("\n");
+        body.append("Check-out: ").append(first.getEndDate().format(DATE_FORMATTER)).append("\n\n");
+
+        // One line per room
+        body.append("ROOMS:\n");
+        java.math.BigDecimal total = java.math.BigDecimal.ZERO;
+        for (Reservation reservation : reservations) {
+            body.append("  Room ").append(reservation.getRoom().getRoomNumber())
+                .append(" - ").append(reservation.getRoomType().getName())
+                .append(", ").append(reservation.getGuestCount()).append(" guest(s)")
+                .append(" (Reservation ID: ").append(reservation.getReservationId()).append(")\n");
+            if (reservation.getTotalAmount() != null) {
+                total = total.add(reservation.getTotalAmount());
+            }
+        }
+        body.append("\n");
+
+        if (total.compareTo(java.math.BigDecimal.ZERO) > 0) {
+            body.append("Total Amount: ").append(first.getCurrency()).append(" ").append(total).append("\n\n");
+        }
+
+        if (first.getSpecialRequests() != null && !first.getSpecialRequests().isBlank()) {
+            body.append("Special Requests: ").append(first.getSpecialRequests()).append("\n\n");
+        }
+
+        body.append("Status: ").append(first.getStatus().name()).append("\n\n");
+
+        body.append("We look forward to welcoming your group!\n\n");
+        body.append("If you have any questions or need to make changes to your reservations, ");
+        body.append("please contact us at ").append(first.getHotel().getPhone()).append(".\n\n");
+        body.append("Best regards,\n");
+        body.append(first.getHotel().getName());
+
+        return body.toString();
+    }
+
     private String formatGuestName(User user) {
         String firstName = user.getFirstName();
         String lastName = user.getLastName();
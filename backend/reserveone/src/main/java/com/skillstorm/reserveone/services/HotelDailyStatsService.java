@@ -0,0 +1,297 @@
+package com.skillstorm.reserveone.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.reserveone.dto.DailyStatsMismatchDTO;
+import com.skillstorm.reserveone.models.Reservation.Status;
+import com.skillstorm.reserveone.repositories.HotelDailyStatsBatchRepository;
+import com.skillstorm.reserveone.repositories.HotelDailyStatsBatchRepository.DayBounds;
+import com.skillstorm.reserveone.repositories.HotelDailyStatsBatchRepository.StatsRow;
+import com.skillstorm.reserveone.repositories.HotelDailyStatsRepository;
+import com.skillstorm.reserveone.repositories.ReservationRepository;
+import com.skillstorm.reserveone.repositories.projections.DailyOccupancyView;
+import com.skillstorm.reserveone.repositories.projections.DailyStatsView;
+
+/**
+ * Service for the daily hotel rollup, which stores per hotel and day:
+ * <ul>
+ *   <li><b>occupied rooms</b> on the night starting that day</li>
+ *   <li><b>arrivals</b> and <b>departures</b>: booked stays starting and ending that day</li>
+ *   <li><b>check-ins</b>: guests who actually arrived (CHECKED_IN or CHECKED_OUT) for a stay
+ *       starting that day</li>
+ *   <li><b>check-outs</b>: guests who actually left (CHECKED_OUT) that day</li>
+ *   <li><b>cancellations</b> made that day</li>
+ *   <li><b>revenue</b> of the stays arriving that day</li>
+ * </ul>
+ *
+ * <p>Occupancy, arrivals, departures and revenue count every stay while it holds inventory
+ * (see {@link RoomTypeInventoryService#holdsInventory}), so they include PENDING and CONFIRMED
+ * stays that may never arrive; they describe bookings. Check-ins and check-outs follow the
+ * guest instead, and are what the occupancy report shows.
+ * Like the inventory ledger, the rollup is adjusted with atomic upserts inside the caller's
+ * transaction by every path that books, changes, cancels or sweeps a reservation, so the
+ * admin dashboard reads O(days) rows instead of scanning reservations.
+ *
+ * <p>A rebuild streams reservations in hotel order through an {@link OccupancyEngine}, so it
+ * costs O(reservations + hotels * days) rather than one row per booked night. A verification
+ * compares the rollup with occupancy computed live from reservations, to detect drift before
+ * deciding to rebuild.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class HotelDailyStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelDailyStatsService.class);
+
+    // Hotels held in the engine before their rows are written; bounds memory to this many hotels * days
+    private static final int REBUILD_BATCH_HOTELS = 50;
+
+    private final HotelDailyStatsRepository statsRepository;
+    private final HotelDailyStatsBatchRepository batchRepository;
+    private final ReservationRepository reservationRepository;
+
+    public HotelDailyStatsService(
+            HotelDailyStatsRepository statsRepository,
+            HotelDailyStatsBatchRepository batchRepository,
+            ReservationRepository reservationRepository) {
+        this.statsRepository = statsRepository;
+        this.batchRepository = batchRepository;
+        this.reservationRepository = reservationRepository;
+    }
+
+    /**
+     * Adds one stay of [startDate, endDate) worth {@code amount} to the hotel's rollup.
+     */
+    public void recordStay(UUID hotelId, LocalDate startDate, LocalDate endDate, BigDecimal amount) {
+        statsRepository.addStays(hotelId, startDate, endDate, 1, amount);
+    }
+
+    /**
+     * Adds {@code rooms} stays of [startDate, endDate) worth {@code revenue} in total.
+     */
+    public void recordStays(UUID hotelId, LocalDate startDate, LocalDate endDate, int rooms, BigDecimal revenue) {
+        statsRepository.addStays(hotelId, startDate, endDate, rooms, revenue);
+    }
+
+    /**
+     * Removes one stay of [startDate, endDate) worth {@code amount} from the hotel's rollup.
+     */
+    public void releaseStay(UUID hotelId, LocalDate startDate, LocalDate endDate, BigDecimal amount) {
+        statsRepository.removeStay(hotelId, startDate, endDate, amount);
+    }
+
+    /**
+     * Ends a recorded stay of [startDate, endDate) on {@code newEndDate} instead, for a guest
+     * who checked out early: the later nights are no longer occupied and the departure moves
+     * to the new day.
+     */
+    public void shortenStay(UUID hotelId, LocalDate startDate, LocalDate endDate, LocalDate newEndDate, BigDecimal amount) {
+        statsRepository.removeStay(hotelId, startDate, endDate, amount);
+        statsRepository.addStays(hotelId, startDate, newEndDate, 1, amount);
+    }
+
+    /**
+     * Removes the stays of the given reservations, as currently stored, from the rollup.
+     */
+    public void releaseStays(Collection<UUID> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statsRepository.removeStaysOf(reservationIds);
+        }
+    }
+
+    /**
+     * Adds the guest movements of {@code stays} stays in the given status: a check-in on
+     * startDate once the guests have arrived (CHECKED_IN or CHECKED_OUT), and a check-out on
+     * checkOutDay once they have left (CHECKED_OUT). Other statuses have none.
+     */
+    public void recordGuestMovements(
+            UUID hotelId, Status status, LocalDate startDate, LocalDate checkOutDay, int stays) {
+        adjustGuestMovements(hotelId, status, startDate, checkOutDay, stays);
+    }
+
+    /**
+     * Takes back the guest movements of one stay in the given status, as counted by
+     * {@link #recordGuestMovements}.
+     */
+    public void releaseGuestMovements(
+            UUID hotelId, Status status, LocalDate startDate, LocalDate checkOutDay) {
+        adjustGuestMovements(hotelId, status, startDate, checkOutDay, -1);
+    }
+
+    /**
+     * Counts the given reservations, as currently stored, as checked in on their start date.
+     * Reservations that are not CHECKED_IN or CHECKED_OUT are skipped.
+     */
+    public void recordCheckIns(Collection<UUID> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statsRepository.addCheckInsOf(reservationIds);
+        }
+    }
+
+    /**
+     * Counts the given reservations, as currently stored, as checked out on their check-out
+     * day. Reservations that are not CHECKED_OUT are skipped.
+     */
+    public void recordCheckOuts(Collection<UUID> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statsRepository.addCheckOutsOf(reservationIds);
+        }
+    }
+
+    /**
+     * Counts the given reservations as cancellations on the day of their {@code cancelled_at}.
+     * Reservations without a cancellation time are skipped.
+     */
+    public void recordCancellations(Collection<UUID> reservationIds) {
+        if (!reservationIds.isEmpty()) {
+            statsRepository.addCancellationsOf(reservationIds);
+        }
+    }
+
+    /**
+     * Takes back a cancellation counted on the given day, for example when the cancelled
+     * reservation is deleted.
+     */
+    public void releaseCancellation(UUID hotelId, LocalDate cancelledOn) {
+        statsRepository.adjustCancellations(hotelId, cancelledOn, -1);
+    }
+
+    /**
+     * Returns the rollup for days in [fromDate, toDate], summed over all hotels when hotelId
+     * is null. Days with no activity are absent.
+     */
+    @Transactional(readOnly = true)
+    public List<DailyStatsView> getDailyStats(UUID hotelId, LocalDate fromDate, LocalDate toDate) {
+        return statsRepository.sumByDateRange(hotelId, fromDate, toDate);
+    }
+
+    /**
+     * Compares occupied rooms, arrivals, departures, check-ins and check-outs in the rollup
+     * with the same figures computed live from reservations, for days in [fromDate, toDate] of one hotel or all
+     * when hotelId is null.
+     *
+     * @return the days that differ, in date order; empty when the rollup is in sync
+     * @throws IllegalArgumentException if fromDate is after toDate
+     */
+    @Transactional(readOnly = true)
+    public List<DailyStatsMismatchDTO> verify(UUID hotelId, LocalDate fromDate, LocalDate toDate) {
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        Map<LocalDate, DailyStatsView> rollupByDate = new HashMap<>();
+        for (DailyStatsView day : statsRepository.sumByDateRange(hotelId, fromDate, toDate)) {
+            rollupByDate.put(day.getStatDate(), day);
+        }
+
+        List<DailyStatsMismatchDTO> mismatches = new ArrayList<>();
+        for (DailyOccupancyView live : reservationRepository.findDailyOccupancy(hotelId, fromDate, toDate)) {
+            DailyStatsView rollup = rollupByDate.get(live.getStayDate());
+            long occupied = rollup != null ? rollup.getOccupiedRooms() : 0;
+            long arrivals = rollup != null ? rollup.getArrivals() : 0;
+            long departures = rollup != null ? rollup.getDepartures() : 0;
+            long checkIns = rollup != null ? rollup.getCheckIns() : 0;
+            long checkOuts = rollup != null ? rollup.getCheckOuts() : 0;
+            if (occupied != live.getOccupiedRooms() || arrivals != live.getArrivals()
+                    || departures != live.getDepartures() || checkIns != live.getCheckIns()
+                    || checkOuts != live.getCheckOuts()) {
+                mismatches.add(new DailyStatsMismatchDTO(live.getStayDate(),
+                    occupied, live.getOccupiedRooms(),
+                    arrivals, live.getArrivals(),
+                    departures, live.getDepartures(),
+                    checkIns, live.getCheckIns(),
+                    checkOuts, live.getCheckOuts()));
+            }
+        }
+        if (!mismatches.isEmpty()) {
+            log.warn("Hotel daily stats differ from reservations on {} day(s) between {} and {}",
+                mismatches.size(), fromDate, toDate);
+        }
+        return mismatches;
+    }
+
+    /**
+     * Recomputes the whole rollup from reservations. Used for backfill and to repair drift,
+     * for example after reservations were edited directly in the database (see
+     * {@link #verify(UUID, LocalDate, LocalDate)}).
+     *
+     * @return the number of rollup rows written
+     */
+    public int rebuild() {
+        statsRepository.deleteAllRows();
+        DayBounds bounds = batchRepository.findDayBounds();
+        if (bounds == null) {
+            log.info("Hotel daily stats rebuilt: 0 rows");
+            return 0;
+        }
+
+        OccupancyEngine engine = new OccupancyEngine(bounds.firstDay(), bounds.lastDay());
+        int[] written = new int[1];
+        UUID[] lastHotel = new UUID[1];
+        batchRepository.forEachSource(source -> {
+            // Sources arrive in hotel order, so a full batch can be flushed at a hotel boundary
+            if (!source.hotelId().equals(lastHotel[0]) && engine.hotelCount() >= REBUILD_BATCH_HOTELS) {
+                written[0] += flush(engine);
+            }
+            lastHotel[0] = source.hotelId();
+            if (source.holdsInventory()) {
+                engine.addStay(source.hotelId(), source.startDate(), source.endDate(), source.totalAmount());
+            }
+            if (source.checkedIn()) {
+                engine.addCheckIn(source.hotelId(), source.startDate());
+            }
+            if (source.checkedOut()) {
+                engine.addCheckOut(source.hotelId(), source.endDate());
+            }
+            if (source.cancelledOn() != null) {
+                engine.addCancellation(source.hotelId(), source.cancelledOn());
+            }
+        });
+        written[0] += flush(engine);
+
+        log.info("Hotel daily stats rebuilt: {} rows", written[0]);
+        return written[0];
+    }
+
+    private int flush(OccupancyEngine engine) {
+        List<StatsRow> rows = new ArrayList<>();
+        engine.forEachDay((hotelId, date, occupied, arrivals, departures, checkIns, checkOuts,
+                cancellations, revenue) ->
+            rows.add(new StatsRow(hotelId, date, occupied, arrivals, departures, checkIns, checkOuts,
+                cancellations, revenue)));
+        engine.clear();
+        if (!rows.isEmpty()) {
+            batchRepository.insertAll(rows);
+        }
+        return rows.size();
+    }
+
+    private void adjustGuestMovements(
+            UUID hotelId, Status status, LocalDate startDate, LocalDate checkOutDay, int delta) {
+        if (status == Status.CHECKED_IN) {
+            statsRepository.adjustGuestMovements(hotelId, startDate, delta, 0);
+        } else if (status == Status.CHECKED_OUT) {
+            if (startDate.equals(checkOutDay)) {
+                statsRepository.adjustGuestMovements(hotelId, startDate, delta, delta);
+            } else {
+                statsRepository.adjustGuestMovements(hotelId, startDate, delta, 0);
+                statsRepository.adjustGuestMovements(hotelId, checkOutDay, 0, delta);
+            }
+        }
+    }
+}
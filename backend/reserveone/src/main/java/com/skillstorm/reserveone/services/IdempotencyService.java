@@ -0,0 +1,183 @@
+package com.skillstorm.reserveone.services;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.skillstorm.reserveone.exceptions.ResourceConflictException;
+
+/**
+ * Replays the result of a create request when a client retries it with the same
+ * {@code Idempotency-Key} header.
+ *
+ * <p>Keys are scoped to the authenticated principal and the operation. The first request
+ * with a key runs normally; its result is stored once the action returns, which is after
+ * the action's transaction has committed. A retry with the same key and the same request
+ * body gets the stored result without running the action again. A retry that arrives while
+ * the first request is still running waits for it and gets the same outcome, including its
+ * exception. A key reused with a different body is rejected with 409.
+ *
+ * <p>A failed request does not keep its key, so a client can retry after a transient error.
+ * Entries expire after {@code idempotency.ttl-ms}, and the store holds at most
+ * {@code idempotency.max-entries} entries; when full, the entries closest to expiry are
+ * dropped first. The store is per instance.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long waitMillis;
+
+    private final Map<Scope, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Scope(String principal, String operation, String key) {
+    }
+
+    private static final class Entry {
+        private final Object request;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // Set when the result is stored; in-flight entries never expire
+        private volatile long expiresAtMillis = Long.MAX_VALUE;
+
+        private Entry(Object request) {
+            this.request = request;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    public IdempotencyService(
+            @Value("${idempotency.ttl-ms:86400000}") long ttlMillis,
+            @Value("${idempotency.max-entries:10000}") int maxEntries,
+            @Value("${idempotency.wait-ms:30000}") long waitMillis) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.waitMillis = waitMillis;
+    }
+
+    /**
+     * Runs {@code action} once per idempotency key, or returns the stored result of an earlier
+     * run with the same key and request. Without a key the action simply runs.
+     *
+     * @param operation name of the endpoint, so one key can be used on different endpoints
+     * @param key the client's Idempotency-Key header, or null
+     * @param request the request body; compared with {@code equals} against the first request
+     * @param action the work to do on the first request
+     * @return the action's result
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws ResourceConflictException if the key was used with a different request, or the
+     *         first request is still running after the wait limit
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, String key, Object request, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        Scope scope = new Scope(currentPrincipal(), operation, key);
+        Entry mine = new Entry(request);
+        while (true) {
+            makeRoom();
+            Entry existing = entries.putIfAbsent(scope, mine);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(System.currentTimeMillis())) {
+                entries.remove(scope, existing);
+                continue;
+            }
+            if (!existing.request.equals(request)) {
+                throw new ResourceConflictException(HEADER + " was already used with a different request");
+            }
+            return (T) await(existing);
+        }
+
+        try {
+            T result = action.get();
+            mine.expiresAtMillis = System.currentTimeMillis() + ttlMillis;
+            mine.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            entries.remove(scope, mine);
+            mine.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-ms:60000}")
+    public void removeExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private Object await(Entry entry) {
+        try {
+            return entry.result.get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // Same outcome as the original request
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResourceConflictException("A request with this " + HEADER + " is still being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceConflictException("A request with this " + HEADER + " is still being processed");
+        }
+    }
+
+    // Keeps the store bounded: drop expired entries, then the completed ones closest to expiry
+    private void makeRoom() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        removeExpired();
+        int excess = entries.size() - maxEntries + 1;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                .filter(e -> e.getValue().result.isDone())
+                .sorted(Comparator.comparingLong(e -> e.getValue().expiresAtMillis))
+                .limit(excess)
+                .toList()
+                .forEach(e -> entries.remove(e.getKey(), e.getValue()));
+            log.warn("Idempotency store full ({} entries); dropped up to {} oldest entries", maxEntries, excess);
+        }
+    }
+
+    private static String currentPrincipal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.isAuthenticated() ? auth.getName() : "anonymous";
+    }
+}
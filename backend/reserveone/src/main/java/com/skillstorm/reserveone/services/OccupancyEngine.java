@@ -0,0 +1,193 @@
+package com.skillstorm.reserveone.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Computes daily hotel figures from stays in O(stays + days) per hotel.
+ *
+ * <p>Days are indexed as offsets from the first epoch day of a fixed window. Each hotel gets
+ * primitive arrays over that window: a stay adds +1 to the occupancy difference array on its
+ * first night and -1 on the morning it ends, and one prefix sum at the end turns the
+ * differences into occupied rooms per night. Arrivals, departures, check-ins, check-outs,
+ * cancellations and revenue are single array increments. Nothing is allocated per stay or
+ * per night.
+ *
+ * <p>Figures match the daily rollup (see {@link HotelDailyStatsService}): a stay of
+ * [startDate, endDate) occupies each of its nights, arrives and books its revenue on
+ * startDate and departs on endDate. Check-ins and check-outs are counted separately, only
+ * for guests who actually arrived or left. Stays are clipped to the window.
+ *
+ * <p>Instances are not thread-safe.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+public final class OccupancyEngine {
+
+    private final long originEpochDay;
+    private final int days;
+    private final Map<UUID, Counters> hotels = new HashMap<>();
+
+    /**
+     * Receives the figures of one hotel and day.
+     */
+    @FunctionalInterface
+    public interface DayVisitor {
+        void visit(UUID hotelId, LocalDate date, int occupiedRooms, int arrivals, int departures,
+                   int checkIns, int checkOuts, int cancellations, BigDecimal revenue);
+    }
+
+    private static final class Counters {
+        // Difference array until summed, then occupied rooms per night; one extra slot for stays ending after the window
+        final int[] occupied;
+        final int[] arrivals;
+        final int[] departures;
+        final int[] checkIns;
+        final int[] checkOuts;
+        final int[] cancellations;
+        final long[] revenueCents;
+        boolean summed;
+
+        Counters(int days) {
+            occupied = new int[days + 1];
+            arrivals = new int[days];
+            departures = new int[days];
+            checkIns = new int[days];
+            checkOuts = new int[days];
+            cancellations = new int[days];
+            revenueCents = new long[days];
+        }
+    }
+
+    /**
+     * Creates an engine covering the days from {@code firstDay} to {@code lastDay}, both inclusive.
+     *
+     * @throws IllegalArgumentException if {@code lastDay} is before {@code firstDay}
+     */
+    public OccupancyEngine(LocalDate firstDay, LocalDate lastDay) {
+        if (lastDay.isBefore(firstDay)) {
+            throw new IllegalArgumentException("Last day cannot be before first day");
+        }
+        this.originEpochDay = firstDay.toEpochDay();
+        this.days = Math.toIntExact(lastDay.toEpochDay() - originEpochDay + 1);
+    }
+
+    /**
+     * Adds one stay of [startDate, endDate) worth {@code amount} to the hotel.
+     */
+    public void addStay(UUID hotelId, LocalDate startDate, LocalDate endDate, BigDecimal amount) {
+        Counters counters = counters(hotelId);
+        long start = startDate.toEpochDay() - originEpochDay;
+        long end = endDate.toEpochDay() - originEpochDay;
+
+        int from = (int) Math.max(0, start);
+        int to = (int) Math.min(days, end);
+        if (from < to) {
+            counters.occupied[from]++;
+            counters.occupied[to]--;
+        }
+        if (start >= 0 && start < days) {
+            counters.arrivals[(int) start]++;
+            if (amount != null) {
+                counters.revenueCents[(int) start] += toCents(amount);
+            }
+        }
+        if (end >= 0 && end < days) {
+            counters.departures[(int) end]++;
+        }
+    }
+
+    /**
+     * Counts one guest checked in for a stay starting on the given day.
+     */
+    public void addCheckIn(UUID hotelId, LocalDate startDate) {
+        long day = startDate.toEpochDay() - originEpochDay;
+        if (day >= 0 && day < days) {
+            counters(hotelId).checkIns[(int) day]++;
+        }
+    }
+
+    /**
+     * Counts one guest checked out on the given day.
+     */
+    public void addCheckOut(UUID hotelId, LocalDate checkOutDay) {
+        long day = checkOutDay.toEpochDay() - originEpochDay;
+        if (day >= 0 && day < days) {
+            counters(hotelId).checkOuts[(int) day]++;
+        }
+    }
+
+    /**
+     * Counts one cancellation made on the given day for the hotel.
+     */
+    public void addCancellation(UUID hotelId, LocalDate cancelledOn) {
+        long day = cancelledOn.toEpochDay() - originEpochDay;
+        if (day >= 0 && day < days) {
+            counters(hotelId).cancellations[(int) day]++;
+        }
+    }
+
+    /**
+     * Returns the number of hotels that have figures.
+     */
+    public int hotelCount() {
+        return hotels.size();
+    }
+
+    /**
+     * Visits every hotel and day with at least one non-zero figure, in day order per hotel.
+     * The first call sums the occupancy differences; no stays may be added afterwards.
+     */
+    public void forEachDay(DayVisitor visitor) {
+        for (Map.Entry<UUID, Counters> entry : hotels.entrySet()) {
+            Counters counters = entry.getValue();
+            prefixSum(counters);
+            for (int i = 0; i < days; i++) {
+                if (counters.occupied[i] != 0 || counters.arrivals[i] != 0 || counters.departures[i] != 0
+                        || counters.checkIns[i] != 0 || counters.checkOuts[i] != 0
+                        || counters.cancellations[i] != 0 || counters.revenueCents[i] != 0) {
+                    visitor.visit(entry.getKey(), LocalDate.ofEpochDay(originEpochDay + i),
+                        counters.occupied[i], counters.arrivals[i], counters.departures[i],
+                        counters.checkIns[i], counters.checkOuts[i],
+                        counters.cancellations[i], BigDecimal.valueOf(counters.revenueCents[i], 2));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every hotel so the engine can be reused for the next batch over the same window.
+     */
+    public void clear() {
+        hotels.clear();
+    }
+
+    private Counters counters(UUID hotelId) {
+        Counters counters = hotels.computeIfAbsent(hotelId, id -> new Counters(days));
+        if (counters.summed) {
+            throw new IllegalStateException("Figures for hotel " + hotelId + " were already read");
+        }
+        return counters;
+    }
+
+    private static void prefixSum(Counters counters) {
+        if (counters.summed) {
+            return;
+        }
+        int running = 0;
+        for (int i = 0; i < counters.occupied.length; i++) {
+            running += counters.occupied[i];
+            counters.occupied[i] = running;
+        }
+        counters.summed = true;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
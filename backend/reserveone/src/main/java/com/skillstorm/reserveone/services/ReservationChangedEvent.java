@@ -0,0 +1,12 @@
+package com.skillstorm.reserveone.services;
+
+import java.util.UUID;
+
+/**
+ * Published when reservations of a hotel were created, changed, cancelled or deleted.
+ * Listeners should react after the publishing transaction commits.
+ *
+ * @param hotelId the hotel whose reservations changed
+ */
+public record ReservationChangedEvent(UUID hotelId) {
+}
@@ -33,18 +33,21 @@ public class ReservationHoldService {
     private final RoomRepository roomRepository;
     private final UserRepository userRepository;
     private final ReservationHoldMapper mapper;
+    private final RoomAvailabilityIndex availabilityIndex;
 
     public ReservationHoldService(
             ReservationHoldRepository holdRepository,
             HotelRepository hotelRepository,
             RoomRepository roomRepository,
             UserRepository userRepository,
-            ReservationHoldMapper mapper) {
+            ReservationHoldMapper mapper,
+            RoomAvailabilityIndex availabilityIndex) {
         this.holdRepository = holdRepository;
         this.hotelRepository = hotelRepository;
         this.roomRepository = roomRepository;
         this.userRepository = userRepository;
         this.mapper = mapper;
+        this.availabilityIndex = availabilityIndex;
     }
 
     public ReservationHoldResponseDTO createOne(ReservationHoldRequestDTO dto) {
@@ -79,6 +82,7 @@ public class ReservationHoldService {
 
         ReservationHold hold = mapper.toEntity(dto, hotel, room, user);
         ReservationHold saved = holdRepository.save(hold);
+        indexHold(saved);
         return mapper.toResponse(saved);
     }
 
@@ -144,16 +148,20 @@ public class ReservationHoldService {
                 "Room has an active hold for the selected date range");
         }
 
+        UUID previousRoomId = hold.getRoom().getRoomId();
         mapper.applyUpdate(dto, hold, hotel, room, user);
         ReservationHold updated = holdRepository.save(hold);
+
+        availabilityIndex.removeHold(id, previousRoomId);
+        indexHold(updated);
         return mapper.toResponse(updated);
     }
 
     public void deleteOne(UUID id) {
-        if (!holdRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Reservation hold not found with id: " + id);
-        }
-        holdRepository.deleteById(id);
+        ReservationHold hold = holdRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation hold not found with id: " + id));
+        holdRepository.delete(hold);
+        availabilityIndex.removeHold(id, hold.getRoom().getRoomId());
     }
 
     public ReservationHoldResponseDTO cancelHold(UUID id) {
@@ -170,6 +178,7 @@ public class ReservationHoldService {
 
         hold.setStatus(Status.CANCELLED);
         ReservationHold updated = holdRepository.save(hold);
+        availabilityIndex.removeHold(id, updated.getRoom().getRoomId());
         return mapper.toResponse(updated);
     }
 
@@ -180,8 +189,17 @@ public class ReservationHoldService {
 
         for (ReservationHold hold : expiredHolds) {
             hold.setStatus(Status.EXPIRED);
+            availabilityIndex.removeHold(hold.getHoldId(), hold.getRoom().getRoomId());
         }
         holdRepository.saveAll(expiredHolds);
     }
+
+    // Only ACTIVE holds block availability; expiry is checked when the index is read
+    private void indexHold(ReservationHold hold) {
+        if (hold.getStatus() == Status.ACTIVE) {
+            availabilityIndex.putHold(hold.getHoldId(), hold.getRoom().getRoomId(),
+                hold.getStartDate(), hold.getEndDate(), hold.getExpiresAt());
+        }
+    }
 }
 
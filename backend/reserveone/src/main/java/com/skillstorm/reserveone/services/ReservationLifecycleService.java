@@ -0,0 +1,137 @@
+package com.skillstorm.reserveone.services;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.reserveone.repositories.ReservationRepository;
+import com.skillstorm.reserveone.repositories.projections.SweptReservationView;
+
+/**
+ * Service for the time-driven reservation transitions that no user request triggers.
+ *
+ * <ul>
+ *   <li>PENDING to CANCELLED: unpaid reservations older than the expiry window, so an
+ *       abandoned checkout stops blocking its room</li>
+ *   <li>CONFIRMED to NO_SHOW: guests who never checked in once the grace period after the
+ *       arrival day has passed</li>
+ *   <li>CHECKED_IN to CHECKED_OUT: stays whose departure day has passed; the room is set
+ *       back to AVAILABLE</li>
+ * </ul>
+ *
+ * <p>Each sweep is a single {@code UPDATE ... RETURNING} statement over every qualifying
+ * reservation, with the inventory ledger or room status adjusted in the same statement, so
+ * the cost does not grow with the number of rows moved. The daily hotel rollup is then
+ * adjusted set-wise for the returned reservations, and the in-memory availability index and
+ * calendar cache are updated after commit, when a {@link ReservationChangedEvent} is also
+ * delivered for every affected hotel. The sweeps
+ * only select rows in a source status allowed by {@link ReservationTransitions}, so running
+ * them twice, or on several instances at once, is harmless.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class ReservationLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationLifecycleService.class);
+
+    static final String EXPIRED_REASON = "Payment not received in time";
+
+    private final ReservationRepository reservationRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final AvailabilityCalendarService calendarService;
+    private final HotelDailyStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long pendingExpiryMinutes;
+    private final int noShowGraceDays;
+    private final int checkoutGraceDays;
+
+    public ReservationLifecycleService(
+            ReservationRepository reservationRepository,
+            RoomAvailabilityIndex availabilityIndex,
+            AvailabilityCalendarService calendarService,
+            HotelDailyStatsService statsService,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${reservations.lifecycle.pending-expiry-minutes:30}") long pendingExpiryMinutes,
+            @Value("${reservations.lifecycle.no-show-grace-days:1}") int noShowGraceDays,
+            @Value("${reservations.lifecycle.checkout-grace-days:0}") int checkoutGraceDays) {
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.calendarService = calendarService;
+        this.statsService = statsService;
+        this.eventPublisher = eventPublisher;
+        this.pendingExpiryMinutes = pendingExpiryMinutes;
+        this.noShowGraceDays = noShowGraceDays;
+        this.checkoutGraceDays = checkoutGraceDays;
+    }
+
+    /**
+     * Cancels PENDING reservations created more than the expiry window ago that have no
+     * payment in progress or completed.
+     *
+     * @return the number of reservations cancelled
+     */
+    public int expireUnpaidPending() {
+        OffsetDateTime createdBefore = OffsetDateTime.now().minusMinutes(pendingExpiryMinutes);
+        List<SweptReservationView> swept = reservationRepository.expireUnpaidPending(createdBefore, EXPIRED_REASON);
+        List<UUID> ids = swept.stream().map(SweptReservationView::getReservationId).toList();
+        statsService.releaseStays(ids);
+        statsService.recordCancellations(ids);
+        return applied("Expired unpaid pending", swept);
+    }
+
+    /**
+     * Marks CONFIRMED reservations as NO_SHOW once their arrival day is more than the grace
+     * period in the past.
+     *
+     * @return the number of reservations marked
+     */
+    public int markNoShows() {
+        LocalDate arrivalBefore = LocalDate.now().minusDays(noShowGraceDays);
+        List<SweptReservationView> swept = reservationRepository.markNoShows(arrivalBefore);
+        statsService.releaseStays(swept.stream().map(SweptReservationView::getReservationId).toList());
+        return applied("Marked no-show", swept);
+    }
+
+    /**
+     * Checks out CHECKED_IN reservations whose departure day is more than the grace period
+     * in the past.
+     *
+     * @return the number of reservations checked out
+     */
+    public int autoCheckOut() {
+        LocalDate departureBefore = LocalDate.now().minusDays(checkoutGraceDays);
+        List<SweptReservationView> swept = reservationRepository.autoCheckOut(departureBefore);
+        statsService.recordCheckOuts(swept.stream().map(SweptReservationView::getReservationId).toList());
+        return applied("Auto checked out", swept);
+    }
+
+    // None of the target statuses block the room, so every swept stay is released
+    private int applied(String action, List<SweptReservationView> swept) {
+        Set<UUID> hotels = new LinkedHashSet<>();
+        for (SweptReservationView row : swept) {
+            availabilityIndex.release(row.getRoomId(), row.getStartDate(), row.getEndDate());
+            hotels.add(row.getHotelId());
+        }
+        for (UUID hotelId : hotels) {
+            calendarService.evictAfterCommit(hotelId);
+            eventPublisher.publishEvent(new ReservationChangedEvent(hotelId));
+        }
+        if (!swept.isEmpty()) {
+            log.info("{} {} reservations across {} hotels", action, swept.size(), hotels.size());
+        }
+        return swept.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.skillstorm.reserveone.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the reservation lifecycle sweeps.
+ *
+ * <p>Unpaid PENDING reservations are expired on a short fixed delay so abandoned checkouts
+ * free their rooms quickly. No-shows and overdue check-outs are swept nightly. Each sweep
+ * runs in its own transaction, so one failing does not roll back the others.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Component
+public class ReservationLifecycleSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationLifecycleSweeper.class);
+
+    private final ReservationLifecycleService lifecycleService;
+    private final boolean enabled;
+
+    public ReservationLifecycleSweeper(
+            ReservationLifecycleService lifecycleService,
+            @Value("${reservations.lifecycle.enabled:true}") boolean enabled) {
+        this.lifecycleService = lifecycleService;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(
+        initialDelayString = "${reservations.lifecycle.pending-sweep-ms:60000}",
+        fixedDelayString = "${reservations.lifecycle.pending-sweep-ms:60000}")
+    public void expirePending() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            lifecycleService.expireUnpaidPending();
+        } catch (Exception e) {
+            log.error("Pending reservation expiry failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "${reservations.lifecycle.nightly-cron:0 15 3 * * *}")
+    public void nightly() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            lifecycleService.markNoShows();
+        } catch (Exception e) {
+            log.error("No-show sweep failed: {}", e.getMessage(), e);
+        }
+        try {
+            lifecycleService.autoCheckOut();
+        } catch (Exception e) {
+            log.error("Auto check-out sweep failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,14 +1,32 @@
 package com.skillstorm.reserveone.services;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.skillstorm.reserveone.dto.BulkReservationActionResultDTO;
+import com.skillstorm.reserveone.dto.GroupReservationRequestDTO;
+import com.skillstorm.reserveone.dto.GroupReservationResponseDTO;
+import com.skillstorm.reserveone.dto.GroupRoomRequestDTO;
+import com.skillstorm.reserveone.dto.ReservationPageDTO;
 import com.skillstorm.reserveone.dto.ReservationRequestDTO;
 import com.skillstorm.reserveone.dto.ReservationResponseDTO;
 import com.skillstorm.reserveone.mappers.ReservationMapper;
@@ -19,11 +37,19 @@ import com.skillstorm.reserveone.models.Room;
 import com.skillstorm.reserveone.models.RoomType;
 import com.skillstorm.reserveone.models.User;
 import com.skillstorm.reserveone.repositories.HotelRepository;
+import com.skillstorm.reserveone.repositories.ReservationBatchRepository;
+import com.skillstorm.reserveone.repositories.ReservationBatchRepository.ReservationRow;
 import com.skillstorm.reserveone.repositories.ReservationRepository;
+import com.skillstorm.reserveone.repositories.ReservationSearchRepository;
 import com.skillstorm.reserveone.repositories.RoomRepository;
 import com.skillstorm.reserveone.repositories.RoomTypeRepository;
 import com.skillstorm.reserveone.repositories.UserRepository;
+import com.skillstorm.reserveone.repositories.projections.BookableRoomView;
+import com.skillstorm.reserveone.repositories.projections.BookingReferenceView;
+import com.skillstorm.reserveone.repositories.projections.ReservationTransitionView;
 
+import com.skillstorm.reserveone.exceptions.DatabaseConstraints;
+import com.skillstorm.reserveone.exceptions.PreconditionFailedException;
 import com.skillstorm.reserveone.exceptions.ResourceConflictException;
 import com.skillstorm.reserveone.exceptions.ResourceNotFoundException;
 
@@ -42,13 +68,27 @@ import com.skillstorm.reserveone.exceptions.ResourceNotFoundException;
 @Transactional
 public class ReservationService {
 
+    private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
+
+    private static final String ROOM_OVERLAP_CONSTRAINT = "ex_reservations_room_no_overlap";
+
+    public static final int DEFAULT_PAGE_SIZE = 200;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final ReservationRepository reservationRepository;
+    private final ReservationBatchRepository batchRepository;
+    private final ReservationSearchRepository searchRepository;
     private final HotelRepository hotelRepository;
     private final RoomRepository roomRepository;
     private final RoomTypeRepository roomTypeRepository;
     private final ReservationMapper mapper;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService outboxService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomTypeInventoryService inventoryService;
+    private final AvailabilityCalendarService calendarService;
+    private final HotelDailyStatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructs a new ReservationService with the required dependencies.
@@ -59,7 +99,14 @@ public class ReservationService {
      * @param roomTypeRepository the repository for room type data access
      * @param mapper the mapper for converting between DTOs and entities
      * @param userRepository the repository for user data access
-     * @param emailService the service for sending email notifications
+     * @param outboxService the outbox that queues notification emails
+     * @param availabilityIndex the in-memory room availability index kept in sync with bookings
+     * @param inventoryService the room-type inventory ledger kept in sync with bookings
+     * @param calendarService the hotel availability calendar cache invalidated on booking changes
+     * @param batchRepository batched JDBC inserts for group bookings
+     * @param searchRepository DTO projections for reservation listings
+     * @param statsService the daily hotel rollup kept in sync with bookings
+     * @param eventPublisher publishes a {@link ReservationChangedEvent} for every committed change
      */
     public ReservationService(
             ReservationRepository reservationRepository,
@@ -68,14 +115,28 @@ public class ReservationService {
             RoomTypeRepository roomTypeRepository,
             ReservationMapper mapper,
             UserRepository userRepository,
-            EmailService emailService) {
+            EmailOutboxService outboxService,
+            RoomAvailabilityIndex availabilityIndex,
+            RoomTypeInventoryService inventoryService,
+            AvailabilityCalendarService calendarService,
+            ReservationBatchRepository batchRepository,
+            ReservationSearchRepository searchRepository,
+            HotelDailyStatsService statsService,
+            ApplicationEventPublisher eventPublisher) {
         this.reservationRepository = reservationRepository;
         this.hotelRepository = hotelRepository;
         this.roomRepository = roomRepository;
         this.roomTypeRepository = roomTypeRepository;
         this.mapper = mapper;
         this.userRepository = userRepository;
-        this.emailService = emailService;
+        this.outboxService = outboxService;
+        this.availabilityIndex = availabilityIndex;
+        this.inventoryService = inventoryService;
+        this.calendarService = calendarService;
+        this.batchRepository = batchRepository;
+        this.searchRepository = searchRepository;
+        this.statsService = statsService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -89,23 +150,29 @@ public class ReservationService {
      *       <li>Start date cannot be in the past</li>
      *     </ul>
      *   </li>
-     *   <li><b>Entity Validation:</b> Verifies existence of hotel, user, room, and room type</li>
-     *   <li><b>Availability Check:</b> Ensures no overlapping reservations exist for the room
-     *       with statuses PENDING, CONFIRMED, or CHECKED_IN</li>
-     *   <li><b>Capacity Check:</b> Validates guest count does not exceed room type maximum capacity</li>
-     *   <li><b>Reservation Creation:</b> Saves the new reservation to the database</li>
-     *   <li><b>Email Notification:</b> Sends confirmation email (non-blocking)</li>
+     *   <li><b>Reference Validation:</b> One query verifies that the hotel, user, room and room
+     *       type exist, that the room and room type belong to the hotel, and that the room is
+     *       of that room type; the entities are then attached as references without loading</li>
+     *   <li><b>Availability Check:</b> Enforced by the {@code ex_reservations_room_no_overlap}
+     *       exclusion constraint when the row is inserted; a violation means another reservation
+     *       with status PENDING, CONFIRMED, or CHECKED_IN already holds the room</li>
+     *   <li><b>Capacity Check:</b> Validates guest count does not exceed room type maximum capacity
+     *       (read by the same validation query)</li>
+     *   <li><b>Reservation Creation:</b> Saves the new reservation to the database and records
+     *       its nights in the room-type inventory ledger</li>
+     *   <li><b>Email Notification:</b> Queues the confirmation email in the outbox in the same
+     *       transaction; delivery happens in the background, so the booking never waits on SMTP</li>
      * </ol>
      * 
-     * <p><b>Overlap Detection:</b> Uses a half-open interval check [startDate, endDate)
-     * to find reservations where:
-     * <pre>
-     *   reservation.startDate &lt; dto.endDate AND reservation.endDate &gt; dto.startDate
-     * </pre>
+     * <p><b>Overlap Detection:</b> The constraint compares half-open ranges
+     * {@code daterange(start_date, end_date, '[)')}, so a stay may begin on the day another
+     * ends. Inserting directly saves a round trip and stays correct when two bookings for
+     * the same room race.
      * 
      * @param dto the reservation request containing all reservation details
      * @return ReservationResponseDTO representing the created reservation
-     * @throws IllegalArgumentException if date validation fails or guest count exceeds capacity
+     * @throws IllegalArgumentException if date validation fails, the room does not belong to the hotel
+     *         or room type, or guest count exceeds capacity
      * @throws ResourceNotFoundException if any referenced entity (hotel, user, room, room type) is not found
      * @throws ResourceConflictException if the room is already reserved for the date range
      */
@@ -119,43 +186,148 @@ public class ReservationService {
             throw new IllegalArgumentException("Start date cannot be in the past");
         }
 
-        // Fetch related entities
-        Hotel hotel = hotelRepository.findById(dto.hotelId())
-            .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + dto.hotelId()));
+        // Validate references in one query, then link them without loading
+        validateReferences(dto);
+        Hotel hotel = hotelRepository.getReferenceById(dto.hotelId());
+        User user = userRepository.getReferenceById(dto.userId());
+        Room room = roomRepository.getReferenceById(dto.roomId());
+        RoomType roomType = roomTypeRepository.getReferenceById(dto.roomTypeId());
 
-        User user = userRepository.findById(dto.userId())
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + dto.userId()));
+        Reservation reservation = mapper.toEntity(dto, hotel, user, room, roomType);
+        Reservation saved = saveEnforcingNoOverlap(reservation);
+        if (isActive(saved.getStatus())) {
+            availabilityIndex.reserve(room.getRoomId(), saved.getStartDate(), saved.getEndDate());
+        }
+        if (RoomTypeInventoryService.holdsInventory(saved.getStatus())) {
+            inventoryService.recordStay(roomType.getRoomTypeId(), saved.getStartDate(), saved.getEndDate());
+            statsService.recordStay(hotel.getHotelId(), saved.getStartDate(), saved.getEndDate(), saved.getTotalAmount());
+            statsService.recordGuestMovements(hotel.getHotelId(), saved.getStatus(), saved.getStartDate(),
+                RoomTypeInventoryService.heldUntil(saved), 1);
+        }
+        calendarService.evictAfterCommit(hotel.getHotelId());
+        publishChanged(hotel.getHotelId());
+        
+        // Queue the confirmation email; it is sent after commit by the outbox dispatcher
+        outboxService.enqueueReservationConfirmation(saved.getReservationId());
+        
+        return mapper.toResponse(saved);
+    }
 
-        Room room = roomRepository.findById(dto.roomId())
-            .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + dto.roomId()));
+    /**
+     * Books several rooms of one hotel for the same dates as a single all-or-nothing group.
+     *
+     * <p>The whole request is checked with a fixed number of queries no matter how many
+     * rooms it contains:
+     * <ol>
+     *   <li><b>Date Validation:</b> same rules as {@link #createOne(ReservationRequestDTO)}</li>
+     *   <li><b>Reference Validation:</b> the hotel and user must exist; one query loads every
+     *       room with its room type capacity, and each room must belong to the hotel, match the
+     *       requested room type (if given) and fit its guest count</li>
+     *   <li><b>Availability Check:</b> one overlap query over all rooms; every conflicting room
+     *       is reported at once</li>
+     *   <li><b>Reservation Creation:</b> all rows are inserted in one JDBC batch sharing a
+     *       generated group ID, and the ledger is adjusted once per room type</li>
+     *   <li><b>Email Notification:</b> one consolidated confirmation is queued for the group</li>
+     * </ol>
+     *
+     * <p>A booking that races in between the overlap query and the insert is still caught by
+     * the {@code ex_reservations_room_no_overlap} exclusion constraint, which rolls back the
+     * whole group.
+     *
+     * @param dto the group request: shared hotel, user, dates and options plus one entry per room
+     * @return GroupReservationResponseDTO with the group ID and one reservation per room, in request order
+     * @throws IllegalArgumentException if date validation fails, a room is listed twice, does not
+     *         belong to the hotel or room type, or a guest count exceeds capacity
+     * @throws ResourceNotFoundException if the hotel, user or any room is not found
+     * @throws ResourceConflictException if any room is already reserved for the date range
+     */
+    public GroupReservationResponseDTO createGroup(GroupReservationRequestDTO dto) {
+        if (!dto.endDate().isAfter(dto.startDate())) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (dto.startDate().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Start date cannot be in the past");
+        }
 
-        RoomType roomType = roomTypeRepository.findById(dto.roomTypeId())
-            .orElseThrow(() -> new ResourceNotFoundException("RoomType not found with id: " + dto.roomTypeId()));
+        List<UUID> roomIds = dto.rooms().stream().map(GroupRoomRequestDTO::roomId).toList();
+        if (new HashSet<>(roomIds).size() != roomIds.size()) {
+            throw new IllegalArgumentException("Each room can appear only once in a group booking");
+        }
+        if (!hotelRepository.existsById(dto.hotelId())) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + dto.hotelId());
+        }
+        if (!userRepository.existsById(dto.userId())) {
+            throw new ResourceNotFoundException("User not found with id: " + dto.userId());
+        }
 
-        // Check for overlapping reservations (active statuses)
-        List<Status> activeStatuses = List.of(Status.PENDING, Status.CONFIRMED, Status.CHECKED_IN);
-        List<Reservation> overlapping = reservationRepository
-            .findByRoom_RoomIdAndStatusInAndStartDateLessThanAndEndDateGreaterThan(
-                dto.roomId(), activeStatuses, dto.endDate(), dto.startDate());
+        Map<UUID, BookableRoomView> rooms = roomRepository.findRoomViewsWithCapacityByIds(roomIds).stream()
+            .collect(Collectors.toMap(BookableRoomView::getRoomId, Function.identity()));
+        for (GroupRoomRequestDTO item : dto.rooms()) {
+            BookableRoomView room = rooms.get(item.roomId());
+            if (room == null) {
+                throw new ResourceNotFoundException("Room not found with id: " + item.roomId());
+            }
+            if (!dto.hotelId().equals(room.getHotelId())) {
+                throw new IllegalArgumentException("Room " + item.roomId() + " does not belong to hotel " + dto.hotelId());
+            }
+            if (item.roomTypeId() != null && !item.roomTypeId().equals(room.getRoomTypeId())) {
+                throw new IllegalArgumentException("Room " + item.roomId() + " is not of room type " + item.roomTypeId());
+            }
+            if (item.guestCount() > room.getMaxGuests()) {
+                throw new IllegalArgumentException("Guest count (" + item.guestCount() + ") exceeds capacity ("
+                    + room.getMaxGuests() + ") of room " + item.roomId());
+            }
+        }
 
-        if (!overlapping.isEmpty()) {
-            throw new ResourceConflictException(
-                "Room is already reserved for the selected date range");
+        List<UUID> reserved = reservationRepository.findReservedRoomIds(roomIds, dto.startDate(), dto.endDate());
+        if (!reserved.isEmpty()) {
+            throw new ResourceConflictException("Rooms already reserved for the selected date range: " + reserved);
         }
 
-        // Validate guest count against room type capacity
-        if (dto.guestCount() > roomType.getMaxGuests()) {
-            throw new IllegalArgumentException(
-                "Guest count (" + dto.guestCount() + ") exceeds room capacity (" + roomType.getMaxGuests() + ")");
+        UUID groupId = UUID.randomUUID();
+        Status status = dto.status() != null ? dto.status() : Status.PENDING;
+        String currency = dto.currency() != null && !dto.currency().isBlank() ? dto.currency().trim().toUpperCase() : "USD";
+        String specialRequests = dto.specialRequests() != null && !dto.specialRequests().isBlank()
+            ? dto.specialRequests().trim() : null;
+
+        List<ReservationRow> rows = new ArrayList<>(dto.rooms().size());
+        for (GroupRoomRequestDTO item : dto.rooms()) {
+            rows.add(new ReservationRow(
+                UUID.randomUUID(), groupId, dto.hotelId(), dto.userId(), item.roomId(),
+                rooms.get(item.roomId()).getRoomTypeId(), dto.startDate(), dto.endDate(), item.guestCount(),
+                status, item.totalAmount() != null ? item.totalAmount() : BigDecimal.ZERO, currency, specialRequests));
         }
 
-        Reservation reservation = mapper.toEntity(dto, hotel, user, room, roomType);
-        Reservation saved = reservationRepository.save(reservation);
-        
-        // Send email confirmation (non-blocking - errors are logged but don't fail reservation)
-        emailService.sendReservationConfirmation(saved, user);
-        
-        return mapper.toResponse(saved);
+        OffsetDateTime createdAt;
+        try {
+            createdAt = batchRepository.insertAll(rows);
+        } catch (DataIntegrityViolationException ex) {
+            if (!DatabaseConstraints.isExclusionViolation(ex, ROOM_OVERLAP_CONSTRAINT)) {
+                throw ex;
+            }
+            throw new ResourceConflictException("A room in the group was reserved for the selected date range by another booking");
+        }
+
+        if (isActive(status)) {
+            rows.forEach(row -> availabilityIndex.reserve(row.roomId(), row.startDate(), row.endDate()));
+        }
+        if (RoomTypeInventoryService.holdsInventory(status)) {
+            rows.stream()
+                .collect(Collectors.groupingBy(ReservationRow::roomTypeId, Collectors.counting()))
+                .forEach((roomTypeId, count) ->
+                    inventoryService.recordStays(roomTypeId, dto.startDate(), dto.endDate(), count.intValue()));
+            statsService.recordStays(dto.hotelId(), dto.startDate(), dto.endDate(), rows.size(),
+                rows.stream().map(ReservationRow::totalAmount).reduce(BigDecimal.ZERO, BigDecimal::add));
+            statsService.recordGuestMovements(dto.hotelId(), status, dto.startDate(), dto.endDate(), rows.size());
+        }
+        calendarService.evictAfterCommit(dto.hotelId());
+        publishChanged(dto.hotelId());
+
+        // One consolidated confirmation for the whole group
+        outboxService.enqueueGroupConfirmation(rows.get(0).reservationId());
+
+        return new GroupReservationResponseDTO(
+            groupId, rows.stream().map(row -> mapper.toResponse(row, createdAt)).toList());
     }
 
     @Transactional(readOnly = true)
@@ -165,78 +337,81 @@ public class ReservationService {
         return mapper.toResponse(reservation);
     }
 
-    @Transactional(readOnly = true)
-    public List<ReservationResponseDTO> readAll() {
-        return reservationRepository.findAll().stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<ReservationResponseDTO> readByUserId(UUID userId) {
-        return reservationRepository.findByUser_UserId(userId).stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<ReservationResponseDTO> readByHotelId(UUID hotelId) {
-        return reservationRepository.findByHotel_HotelId(hotelId).stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<ReservationResponseDTO> readByRoomId(UUID roomId) {
-        return reservationRepository.findByRoom_RoomId(roomId).stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
-    }
-
     /**
-     * Searches reservations using flexible criteria with dynamic query building.
+     * Returns one page of reservations matching the given criteria, ordered by start date
+     * and then reservation ID.
      * 
-     * <p>This method supports multi-criteria searching with the following filters:
+     * <p>Filters:
      * <ul>
+     *   <li><b>User / Room / Hotel ID:</b> Exact match on the UUID</li>
      *   <li><b>Reservation ID:</b> Partial match (case-insensitive) on UUID string representation</li>
      *   <li><b>Guest Last Name:</b> Partial match (case-insensitive) on user's last name</li>
-     *   <li><b>Hotel ID:</b> Exact match on hotel UUID</li>
      *   <li><b>Status:</b> Exact match on reservation status</li>
      *   <li><b>Start Date Range:</b> Reservations with startDate between startDateFrom and startDateTo (inclusive)</li>
      *   <li><b>End Date Range:</b> Reservations with endDate between endDateFrom and endDateTo (inclusive)</li>
      * </ul>
      * 
      * <p>All filters are optional and combined with AND logic. If a filter parameter is null,
-     * it is not applied. The search uses JPA Specifications for type-safe dynamic query building.
+     * it is not applied.
      * 
-     * @param reservationId partial UUID string to search for (case-insensitive)
-     * @param guestLastName partial last name to search for (case-insensitive)
-     * @param hotelId exact hotel UUID to filter by
-     * @param status exact reservation status to filter by
-     * @param startDateFrom minimum start date (inclusive)
-     * @param startDateTo maximum start date (inclusive)
-     * @param endDateFrom minimum end date (inclusive)
-     * @param endDateTo maximum end date (inclusive)
-     * @return list of matching reservations as DTOs
+     * <p>Paging is keyset-based: the cursor holds the (startDate, reservationId) of the last
+     * row returned, and the next page starts strictly after it. Every page is an index range
+     * scan of {@code limit + 1} rows whatever its depth, and no COUNT query is run; the extra
+     * row only tells whether a next page exists.
+     * 
+     * @param criteria the filters; null fields are ignored
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param limit maximum number of reservations to return, or null for {@value #DEFAULT_PAGE_SIZE}
+     * @return ReservationPageDTO with the page and the cursor of the next one
+     * @throws IllegalArgumentException if the cursor is malformed or the limit is out of range
      */
     @Transactional(readOnly = true)
-    public List<ReservationResponseDTO> searchReservations(
-            String reservationId,
-            String guestLastName,
-            UUID hotelId,
-            Status status,
-            LocalDate startDateFrom,
-            LocalDate startDateTo,
-            LocalDate endDateFrom,
-            LocalDate endDateTo) {
-        
-        Specification<Reservation> spec = buildSearchSpecification(
-            reservationId, guestLastName, hotelId, status,
-            startDateFrom, startDateTo, endDateFrom, endDateTo);
-        
-        return reservationRepository.findAll(spec).stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
+    public ReservationPageDTO searchReservations(SearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        Specification<Reservation> spec = buildSearchSpecification(criteria);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(after(ReservationCursor.decode(cursor.trim())));
+        }
+
+        List<ReservationResponseDTO> rows = searchRepository.findResponses(spec, pageSize + 1);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            ReservationResponseDTO last = rows.get(pageSize - 1);
+            nextCursor = new ReservationCursor(last.startDate(), last.reservationId()).encode();
+        }
+        return new ReservationPageDTO(rows, nextCursor);
+    }
+
+    /**
+     * Optional filters for {@link #searchReservations(SearchCriteria, String, Integer)}.
+     */
+    public record SearchCriteria(
+        UUID userId,
+        UUID roomId,
+        UUID hotelId,
+        String reservationId,
+        String guestLastName,
+        Status status,
+        LocalDate startDateFrom,
+        LocalDate startDateTo,
+        LocalDate endDateFrom,
+        LocalDate endDateTo
+    ) {
+    }
+
+    // Rows strictly after the cursor in (startDate, reservationId) order
+    private static Specification<Reservation> after(ReservationCursor cursor) {
+        return (root, query, cb) -> cb.or(
+            cb.greaterThan(root.<LocalDate>get("startDate"), cursor.startDate()),
+            cb.and(
+                cb.equal(root.get("startDate"), cursor.startDate()),
+                cb.greaterThan(root.<UUID>get("reservationId"), cursor.reservationId())));
     }
 
     /**
@@ -253,26 +428,19 @@ public class ReservationService {
      *   <li>Date range comparisons (greater than or equal, less than or equal)</li>
      * </ul>
      * 
-     * @param reservationId partial UUID string filter
-     * @param guestLastName partial last name filter
-     * @param hotelId hotel UUID filter
-     * @param status reservation status filter
-     * @param startDateFrom minimum start date
-     * @param startDateTo maximum start date
-     * @param endDateFrom minimum end date
-     * @param endDateTo maximum end date
+     * @param criteria the filters; null fields are ignored
      * @return JPA Specification combining all non-null filters
      */
-    private Specification<Reservation> buildSearchSpecification(
-            String reservationId,
-            String guestLastName,
-            UUID hotelId,
-            Status status,
-            LocalDate startDateFrom,
-            LocalDate startDateTo,
-            LocalDate endDateFrom,
-            LocalDate endDateTo) {
-        
+    private Specification<Reservation> buildSearchSpecification(SearchCriteria criteria) {
+        String reservationId = criteria.reservationId();
+        String guestLastName = criteria.guestLastName();
+        UUID hotelId = criteria.hotelId();
+        Status status = criteria.status();
+        LocalDate startDateFrom = criteria.startDateFrom();
+        LocalDate startDateTo = criteria.startDateTo();
+        LocalDate endDateFrom = criteria.endDateFrom();
+        LocalDate endDateTo = criteria.endDateTo();
+
         return (root, query, cb) -> {
             var predicates = cb.conjunction();
 
@@ -292,6 +460,18 @@ public class ReservationService {
                         "%" + searchLastName + "%"));
             }
 
+            // Filter by user ID
+            if (criteria.userId() != null) {
+                predicates = cb.and(predicates,
+                    cb.equal(root.get("user").get("userId"), criteria.userId()));
+            }
+
+            // Filter by room ID
+            if (criteria.roomId() != null) {
+                predicates = cb.and(predicates,
+                    cb.equal(root.get("room").get("roomId"), criteria.roomId()));
+            }
+
             // Filter by hotel ID
             if (hotelId != null) {
                 predicates = cb.and(predicates, 
@@ -332,77 +512,139 @@ public class ReservationService {
         };
     }
 
-    public ReservationResponseDTO updateOne(UUID id, ReservationRequestDTO dto) {
+    public ReservationResponseDTO updateOne(UUID id, ReservationRequestDTO dto, Long expectedVersion) {
         Reservation reservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        requireVersion(reservation.getVersion(), expectedVersion);
+
+        if (dto.status() != null && dto.status() != reservation.getStatus()
+                && !ReservationTransitions.isAllowed(reservation.getStatus(), dto.status())) {
+            throw new ResourceConflictException(
+                "Cannot change reservation status from " + reservation.getStatus() + " to " + dto.status());
+        }
 
         // Validate dates
         if (dto.endDate().isBefore(dto.startDate()) || dto.endDate().equals(dto.startDate())) {
             throw new IllegalArgumentException("End date must be after start date");
         }
 
-        // Fetch related entities
-        Hotel hotel = hotelRepository.findById(dto.hotelId())
-            .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + dto.hotelId()));
-
-        User user = userRepository.findById(dto.userId())
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + dto.userId()));
-
-        Room room = roomRepository.findById(dto.roomId())
-            .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + dto.roomId()));
-
-        RoomType roomType = roomTypeRepository.findById(dto.roomTypeId())
-            .orElseThrow(() -> new ResourceNotFoundException("RoomType not found with id: " + dto.roomTypeId()));
-
-        // Check for overlapping reservations (excluding current reservation)
-        List<Status> activeStatuses = List.of(Status.PENDING, Status.CONFIRMED, Status.CHECKED_IN);
-        List<Reservation> overlapping = reservationRepository
-            .findByRoom_RoomIdAndStatusInAndStartDateLessThanAndEndDateGreaterThan(
-                dto.roomId(), activeStatuses, dto.endDate(), dto.startDate());
-
-        overlapping.removeIf(r -> r.getReservationId().equals(id));
-        if (!overlapping.isEmpty()) {
-            throw new ResourceConflictException(
-                "Room is already reserved for the selected date range");
+        // Validate references in one query, then link them without loading
+        validateReferences(dto);
+        Hotel hotel = hotelRepository.getReferenceById(dto.hotelId());
+        User user = userRepository.getReferenceById(dto.userId());
+        Room room = roomRepository.getReferenceById(dto.roomId());
+        RoomType roomType = roomTypeRepository.getReferenceById(dto.roomTypeId());
+
+        Room previousRoom = reservation.getRoom();
+        UUID previousRoomId = previousRoom.getRoomId();
+        UUID previousRoomTypeId = reservation.getRoomType().getRoomTypeId();
+        UUID previousHotelId = reservation.getHotel().getHotelId();
+        LocalDate previousStart = reservation.getStartDate();
+        LocalDate previousEnd = reservation.getEndDate();
+        LocalDate previousHeldUntil = RoomTypeInventoryService.heldUntil(reservation);
+        BigDecimal previousAmount = reservation.getTotalAmount();
+        Status previousStatus = reservation.getStatus();
+        boolean wasActive = isActive(previousStatus);
+        boolean heldInventory = RoomTypeInventoryService.holdsInventory(previousStatus);
+
+        // Overlaps with other reservations are rejected by the exclusion constraint on flush
+        mapper.applyUpdate(dto, reservation, hotel, user, room, roomType);
+        if (reservation.getStatus() == Status.CHECKED_OUT && previousStatus != Status.CHECKED_OUT) {
+            reservation.setCheckedOutOn(LocalDate.now());
         }
-
-        // Validate guest count
-        if (dto.guestCount() > roomType.getMaxGuests()) {
-            throw new IllegalArgumentException(
-                "Guest count (" + dto.guestCount() + ") exceeds room capacity (" + roomType.getMaxGuests() + ")");
+        if (previousStatus == Status.CHECKED_IN && reservation.getStatus() != Status.CHECKED_IN) {
+            vacateRoom(previousRoom);
         }
+        Reservation updated = saveEnforcingNoOverlap(reservation);
 
-        mapper.applyUpdate(dto, reservation, hotel, user, room, roomType);
-        Reservation updated = reservationRepository.save(reservation);
+        if (wasActive) {
+            availabilityIndex.release(previousRoomId, previousStart, previousEnd);
+        }
+        if (isActive(updated.getStatus())) {
+            availabilityIndex.reserve(room.getRoomId(), updated.getStartDate(), updated.getEndDate());
+        }
+        if (heldInventory) {
+            inventoryService.releaseStay(previousRoomTypeId, previousStart, previousHeldUntil);
+            statsService.releaseStay(previousHotelId, previousStart, previousHeldUntil, previousAmount);
+            statsService.releaseGuestMovements(previousHotelId, previousStatus, previousStart, previousHeldUntil);
+        }
+        if (RoomTypeInventoryService.holdsInventory(updated.getStatus())) {
+            LocalDate heldUntil = RoomTypeInventoryService.heldUntil(updated);
+            inventoryService.recordStay(roomType.getRoomTypeId(), updated.getStartDate(), heldUntil);
+            statsService.recordStay(hotel.getHotelId(), updated.getStartDate(), heldUntil, updated.getTotalAmount());
+            statsService.recordGuestMovements(
+                hotel.getHotelId(), updated.getStatus(), updated.getStartDate(), heldUntil, 1);
+        }
+        calendarService.evictAfterCommit(previousHotelId);
+        publishChanged(previousHotelId);
+        if (!previousHotelId.equals(hotel.getHotelId())) {
+            calendarService.evictAfterCommit(hotel.getHotelId());
+            publishChanged(hotel.getHotelId());
+        }
         return mapper.toResponse(updated);
     }
 
     public void deleteOne(UUID id) {
-        if (!reservationRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Reservation not found with id: " + id);
+        Reservation reservation = reservationRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+
+        reservationRepository.delete(reservation);
+        if (isActive(reservation.getStatus())) {
+            availabilityIndex.release(
+                reservation.getRoom().getRoomId(), reservation.getStartDate(), reservation.getEndDate());
+        }
+        UUID hotelId = reservation.getHotel().getHotelId();
+        if (RoomTypeInventoryService.holdsInventory(reservation.getStatus())) {
+            LocalDate heldUntil = RoomTypeInventoryService.heldUntil(reservation);
+            inventoryService.releaseStay(
+                reservation.getRoomType().getRoomTypeId(), reservation.getStartDate(), heldUntil);
+            statsService.releaseStay(
+                hotelId, reservation.getStartDate(), heldUntil, reservation.getTotalAmount());
+            statsService.releaseGuestMovements(
+                hotelId, reservation.getStatus(), reservation.getStartDate(), heldUntil);
+            calendarService.evictAfterCommit(hotelId);
+        }
+        if (reservation.getStatus() == Status.CANCELLED && reservation.getCancelledAt() != null) {
+            statsService.releaseCancellation(hotelId, reservation.getCancelledAt().toLocalDate());
         }
-        reservationRepository.deleteById(id);
+        publishChanged(hotelId);
     }
 
-    public ReservationResponseDTO cancelReservation(UUID id, String reason) {
+    public ReservationResponseDTO cancelReservation(UUID id, String reason, Long expectedVersion) {
         Reservation reservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        requireVersion(reservation.getVersion(), expectedVersion);
 
         if (reservation.getStatus() == Status.CANCELLED) {
             throw new ResourceConflictException("Reservation is already cancelled");
         }
 
-        if (reservation.getStatus() == Status.CHECKED_OUT) {
-            throw new ResourceConflictException("Cannot cancel a checked-out reservation");
+        if (!ReservationTransitions.isAllowed(reservation.getStatus(), Status.CANCELLED)) {
+            throw new ResourceConflictException("Cannot cancel a reservation in status " + reservation.getStatus());
         }
 
+        Status previousStatus = reservation.getStatus();
+        if (previousStatus == Status.CHECKED_IN) {
+            vacateRoom(reservation.getRoom());
+        }
         reservation.setStatus(Status.CANCELLED);
         if (reason != null && !reason.isBlank()) {
             reservation.setCancellationReason(reason.trim());
         }
         reservation.setCancelledAt(java.time.OffsetDateTime.now());
 
-        Reservation updated = reservationRepository.save(reservation);
+        Reservation updated = reservationRepository.saveAndFlush(reservation);
+        availabilityIndex.release(
+            updated.getRoom().getRoomId(), updated.getStartDate(), updated.getEndDate());
+        inventoryService.releaseStay(
+            updated.getRoomType().getRoomTypeId(), updated.getStartDate(), updated.getEndDate());
+        statsService.releaseStay(
+            updated.getHotel().getHotelId(), updated.getStartDate(), updated.getEndDate(), updated.getTotalAmount());
+        statsService.releaseGuestMovements(
+            updated.getHotel().getHotelId(), previousStatus, updated.getStartDate(), updated.getEndDate());
+        statsService.recordCancellations(List.of(updated.getReservationId()));
+        calendarService.evictAfterCommit(updated.getHotel().getHotelId());
+        publishChanged(updated.getHotel().getHotelId());
         return mapper.toResponse(updated);
     }
 
@@ -424,16 +666,19 @@ public class ReservationService {
      * </ol>
      * 
      * @param id the UUID of the reservation to check in
+     * @param expectedVersion the version the client last saw (from If-Match), or null to skip the check
      * @return ReservationResponseDTO representing the updated reservation
      * @throws ResourceNotFoundException if the reservation is not found
+     * @throws PreconditionFailedException if the reservation's version differs from {@code expectedVersion}
      * @throws ResourceConflictException if reservation is not in CONFIRMED status or room is already occupied
      * @throws IllegalArgumentException if attempting to check in before the reservation start date
      */
-    public ReservationResponseDTO checkIn(UUID id) {
+    public ReservationResponseDTO checkIn(UUID id, Long expectedVersion) {
         Reservation reservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        requireVersion(reservation.getVersion(), expectedVersion);
 
-        if (reservation.getStatus() != Status.CONFIRMED) {
+        if (!ReservationTransitions.isAllowed(reservation.getStatus(), Status.CHECKED_IN)) {
             throw new ResourceConflictException(
                 "Reservation must be in CONFIRMED status to check in. Current status: " + reservation.getStatus());
         }
@@ -450,8 +695,11 @@ public class ReservationService {
         reservation.setStatus(Status.CHECKED_IN);
         room.setStatus(Room.Status.OCCUPIED);
 
+        // Both rows are version-checked on flush; a concurrent check-in/out of either fails with 409
         Reservation updated = reservationRepository.save(reservation);
-        roomRepository.save(room);
+        roomRepository.saveAndFlush(room);
+        statsService.recordCheckIns(List.of(updated.getReservationId()));
+        publishChanged(updated.getHotel().getHotelId());
         return mapper.toResponse(updated);
     }
 
@@ -465,32 +713,303 @@ public class ReservationService {
      * 
      * <p>Upon successful validation:
      * <ol>
-     *   <li>Updates reservation status to CHECKED_OUT</li>
+     *   <li>Updates reservation status to CHECKED_OUT and records today as the check-out day</li>
      *   <li>Updates room status to AVAILABLE</li>
      *   <li>Persists both changes in a single transaction</li>
+     *   <li>On an early departure, releases the nights from today to the end date in the
+     *       availability index, the inventory ledger and the daily rollup</li>
      * </ol>
      * 
      * @param id the UUID of the reservation to check out
+     * @param expectedVersion the version the client last saw (from If-Match), or null to skip the check
      * @return ReservationResponseDTO representing the updated reservation
      * @throws ResourceNotFoundException if the reservation is not found
+     * @throws PreconditionFailedException if the reservation's version differs from {@code expectedVersion}
      * @throws ResourceConflictException if reservation is not in CHECKED_IN status
      */
-    public ReservationResponseDTO checkOut(UUID id) {
+    public ReservationResponseDTO checkOut(UUID id, Long expectedVersion) {
         Reservation reservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+        requireVersion(reservation.getVersion(), expectedVersion);
 
-        if (reservation.getStatus() != Status.CHECKED_IN) {
+        if (!ReservationTransitions.isAllowed(reservation.getStatus(), Status.CHECKED_OUT)) {
             throw new ResourceConflictException(
                 "Reservation must be in CHECKED_IN status to check out. Current status: " + reservation.getStatus());
         }
 
         Room room = reservation.getRoom();
         reservation.setStatus(Status.CHECKED_OUT);
+        reservation.setCheckedOutOn(LocalDate.now());
         room.setStatus(Room.Status.AVAILABLE);
 
+        // Both rows are version-checked on flush; a concurrent check-in/out of either fails with 409
         Reservation updated = reservationRepository.save(reservation);
-        roomRepository.save(room);
+        roomRepository.saveAndFlush(room);
+        statsService.recordCheckOuts(List.of(updated.getReservationId()));
+
+        // CHECKED_OUT no longer blocks the room, so any remaining nights become bookable
+        availabilityIndex.release(room.getRoomId(), updated.getStartDate(), updated.getEndDate());
+        LocalDate heldUntil = RoomTypeInventoryService.heldUntil(updated);
+        if (heldUntil.isBefore(updated.getEndDate())) {
+            UUID hotelId = updated.getHotel().getHotelId();
+            inventoryService.releaseStay(updated.getRoomType().getRoomTypeId(), heldUntil, updated.getEndDate());
+            statsService.shortenStay(
+                hotelId, updated.getStartDate(), updated.getEndDate(), heldUntil, updated.getTotalAmount());
+            calendarService.evictAfterCommit(hotelId);
+        }
+        publishChanged(updated.getHotel().getHotelId());
         return mapper.toResponse(updated);
     }
+
+    /**
+     * Applies a reservation status change driven by a payment event (for example a
+     * Stripe webhook confirming or refunding a payment).
+     * 
+     * <p>Does nothing if the reservation does not exist or already has the target status.
+     * A change the lifecycle does not allow (for example a refund arriving after check-out,
+     * or a payment succeeding for a reservation that already expired) is logged and ignored.
+     * The availability index and the room-type inventory ledger are updated when the
+     * change moves the reservation into or out of a status that blocks the room or
+     * holds inventory.
+     * 
+     * @param id the UUID of the reservation
+     * @param status the status the payment outcome implies
+     */
+    public void applyPaymentStatus(UUID id, Status status) {
+        reservationRepository.findById(id).ifPresent(reservation -> {
+            if (reservation.getStatus() == status) {
+                return;
+            }
+            if (!ReservationTransitions.isAllowed(reservation.getStatus(), status)) {
+                log.warn("Ignoring payment-driven status change of reservation {} from {} to {}",
+                        id, reservation.getStatus(), status);
+                return;
+            }
+
+            Status previousStatus = reservation.getStatus();
+            boolean wasActive = isActive(previousStatus);
+            boolean heldInventory = RoomTypeInventoryService.holdsInventory(previousStatus);
+            if (previousStatus == Status.CHECKED_IN) {
+                vacateRoom(reservation.getRoom());
+            }
+            reservation.setStatus(status);
+            Reservation updated = reservationRepository.save(reservation);
+
+            UUID roomId = updated.getRoom().getRoomId();
+            if (wasActive && !isActive(status)) {
+                availabilityIndex.release(roomId, updated.getStartDate(), updated.getEndDate());
+            } else if (!wasActive && isActive(status)) {
+                availabilityIndex.reserve(roomId, updated.getStartDate(), updated.getEndDate());
+            }
+
+            UUID roomTypeId = updated.getRoomType().getRoomTypeId();
+            UUID hotelId = updated.getHotel().getHotelId();
+            if (heldInventory && !RoomTypeInventoryService.holdsInventory(status)) {
+                inventoryService.releaseStay(roomTypeId, updated.getStartDate(), updated.getEndDate());
+                statsService.releaseStay(hotelId, updated.getStartDate(), updated.getEndDate(), updated.getTotalAmount());
+                calendarService.evictAfterCommit(hotelId);
+            } else if (!heldInventory && RoomTypeInventoryService.holdsInventory(status)) {
+                inventoryService.recordStay(roomTypeId, updated.getStartDate(), updated.getEndDate());
+                statsService.recordStay(hotelId, updated.getStartDate(), updated.getEndDate(), updated.getTotalAmount());
+                calendarService.evictAfterCommit(hotelId);
+            }
+            statsService.releaseGuestMovements(hotelId, previousStatus, updated.getStartDate(), updated.getEndDate());
+            statsService.recordGuestMovements(hotelId, status, updated.getStartDate(), updated.getEndDate(), 1);
+            publishChanged(hotelId);
+        });
+    }
+
+    /**
+     * Checks every reference of a booking request with a single query: hotel, user, room and
+     * room type must exist, the room and room type must belong to the hotel, the room must be
+     * of the requested room type, and the guest count must fit the room type.
+     */
+    private void validateReferences(ReservationRequestDTO dto) {
+        BookingReferenceView refs = reservationRepository.findBookingReferences(
+            dto.hotelId(), dto.userId(), dto.roomId(), dto.roomTypeId());
+
+        if (!Boolean.TRUE.equals(refs.getHotelExists())) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + dto.hotelId());
+        }
+        if (!Boolean.TRUE.equals(refs.getUserExists())) {
+            throw new ResourceNotFoundException("User not found with id: " + dto.userId());
+        }
+        if (refs.getRoomId() == null) {
+            throw new ResourceNotFoundException("Room not found with id: " + dto.roomId());
+        }
+        if (refs.getRoomTypeId() == null) {
+            throw new ResourceNotFoundException("RoomType not found with id: " + dto.roomTypeId());
+        }
+        if (!dto.hotelId().equals(refs.getRoomHotelId())) {
+            throw new IllegalArgumentException("Room " + dto.roomId() + " does not belong to hotel " + dto.hotelId());
+        }
+        if (!dto.hotelId().equals(refs.getRoomTypeHotelId())) {
+            throw new IllegalArgumentException("RoomType " + dto.roomTypeId() + " does not belong to hotel " + dto.hotelId());
+        }
+        if (!dto.roomTypeId().equals(refs.getRoomRoomTypeId())) {
+            throw new IllegalArgumentException("Room " + dto.roomId() + " is not of room type " + dto.roomTypeId());
+        }
+        if (dto.guestCount() > refs.getMaxGuests()) {
+            throw new IllegalArgumentException(
+                "Guest count (" + dto.guestCount() + ") exceeds room capacity (" + refs.getMaxGuests() + ")");
+        }
+    }
+
+    /**
+     * Writes the reservation immediately so that an overlap is reported here, not at commit,
+     * and turns a violation of the room overlap constraint into a ResourceConflictException
+     * naming the existing stay's dates.
+     */
+    private Reservation saveEnforcingNoOverlap(Reservation reservation) {
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException ex) {
+            if (!DatabaseConstraints.isExclusionViolation(ex, ROOM_OVERLAP_CONSTRAINT)) {
+                throw ex;
+            }
+            String message = DatabaseConstraints.conflictingRange(ex)
+                .map(range -> "Room is already reserved for " + range + ", which overlaps the selected date range")
+                .orElse("Room is already reserved for the selected date range");
+            throw new ResourceConflictException(message);
+        }
+    }
+
+    /**
+     * Checks in many reservations at once, for example a tour group arriving together.
+     *
+     * <p>Each reservation is validated with the same rules as {@link #checkIn(UUID, Long)}: it
+     * must be CONFIRMED, its start date must not be in the future, and its room must not be
+     * occupied. All reservations and rooms are read and locked with one query, and the valid
+     * ones are applied with one UPDATE on reservations and one on rooms. Invalid reservations
+     * are reported and left unchanged; they do not stop the others.
+     *
+     * @param ids the reservations to check in
+     * @return one result per requested ID, in request order
+     */
+    public List<BulkReservationActionResultDTO> checkInAll(List<UUID> ids) {
+        LocalDate today = LocalDate.now();
+        return applyBulkTransition(ids, Status.CHECKED_IN, Room.Status.OCCUPIED, row -> {
+            if (!ReservationTransitions.isAllowed(Status.valueOf(row.getStatus()), Status.CHECKED_IN)) {
+                return "Reservation must be in CONFIRMED status to check in. Current status: " + row.getStatus();
+            }
+            if (row.getStartDate().isAfter(today)) {
+                return "Cannot check in before the reservation start date";
+            }
+            if (Room.Status.OCCUPIED.name().equals(row.getRoomStatus())) {
+                return "Room is already occupied";
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Checks out many reservations at once. Each must be CHECKED_IN; its room becomes
+     * AVAILABLE. Validation and updates work as in {@link #checkInAll(List)}.
+     *
+     * @param ids the reservations to check out
+     * @return one result per requested ID, in request order
+     */
+    public List<BulkReservationActionResultDTO> checkOutAll(List<UUID> ids) {
+        return applyBulkTransition(ids, Status.CHECKED_OUT, Room.Status.AVAILABLE, row ->
+            ReservationTransitions.isAllowed(Status.valueOf(row.getStatus()), Status.CHECKED_OUT)
+                ? null
+                : "Reservation must be in CHECKED_IN status to check out. Current status: " + row.getStatus());
+    }
+
+    private List<BulkReservationActionResultDTO> applyBulkTransition(List<UUID> ids, Status target,
+            Room.Status roomTarget, Function<ReservationTransitionView, String> validate) {
+        List<UUID> distinctIds = ids.stream().distinct().toList();
+        Map<UUID, ReservationTransitionView> rows = reservationRepository.lockForTransition(distinctIds).stream()
+            .collect(Collectors.toMap(ReservationTransitionView::getReservationId, Function.identity()));
+
+        Map<UUID, String> errors = new HashMap<>();
+        List<UUID> accepted = new ArrayList<>();
+        Set<UUID> rooms = new LinkedHashSet<>();
+        for (UUID id : distinctIds) {
+            ReservationTransitionView row = rows.get(id);
+            String error = row == null ? "Reservation not found with id: " + id : validate.apply(row);
+            if (error == null && !rooms.add(row.getRoomId())) {
+                error = "Room is used by another reservation in this request";
+            }
+            if (error == null) {
+                accepted.add(id);
+            } else {
+                errors.put(id, error);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            LocalDate today = LocalDate.now();
+            reservationRepository.updateStatusByIds(accepted, target.name(), today);
+            roomRepository.updateStatusByIds(new ArrayList<>(rooms), roomTarget.name());
+            if (target == Status.CHECKED_IN) {
+                statsService.recordCheckIns(accepted);
+            } else if (target == Status.CHECKED_OUT) {
+                statsService.recordCheckOuts(accepted);
+            }
+            if (!isActive(target)) {
+                for (UUID id : accepted) {
+                    ReservationTransitionView row = rows.get(id);
+                    availabilityIndex.release(row.getRoomId(), row.getStartDate(), row.getEndDate());
+                }
+            }
+            if (target == Status.CHECKED_OUT) {
+                // Early departures release their remaining nights, as in checkOut
+                for (UUID id : accepted) {
+                    ReservationTransitionView row = rows.get(id);
+                    if (today.isBefore(row.getEndDate())) {
+                        LocalDate heldUntil = today.isAfter(row.getStartDate()) ? today : row.getStartDate();
+                        inventoryService.releaseStay(row.getRoomTypeId(), heldUntil, row.getEndDate());
+                        statsService.shortenStay(
+                            row.getHotelId(), row.getStartDate(), row.getEndDate(), heldUntil, row.getTotalAmount());
+                        calendarService.evictAfterCommit(row.getHotelId());
+                    }
+                }
+            }
+            accepted.stream().map(id -> rows.get(id).getHotelId()).distinct().forEach(this::publishChanged);
+        }
+
+        Set<UUID> reported = new HashSet<>();
+        List<BulkReservationActionResultDTO> results = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            ReservationTransitionView row = rows.get(id);
+            Status current = row != null ? Status.valueOf(row.getStatus()) : null;
+            if (!reported.add(id)) {
+                results.add(new BulkReservationActionResultDTO(id, false, errors.containsKey(id) ? current : target,
+                    "Reservation is listed more than once in this request"));
+            } else if (errors.containsKey(id)) {
+                results.add(new BulkReservationActionResultDTO(id, false, current, errors.get(id)));
+            } else {
+                results.add(new BulkReservationActionResultDTO(id, true, target, null));
+            }
+        }
+        return results;
+    }
+
+    // A stay that leaves CHECKED_IN other than through checkOut (a cancellation or refund)
+    // frees its room the same way, so the room is offered again
+    private void vacateRoom(Room room) {
+        if (room.getStatus() == Room.Status.OCCUPIED) {
+            room.setStatus(Room.Status.AVAILABLE);
+            roomRepository.save(room);
+        }
+    }
+
+    // Rejects a conditional write made against a stale version (If-Match)
+    private static void requireVersion(Long currentVersion, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException(
+                "Resource has changed (current version " + currentVersion + ", expected " + expectedVersion + ")");
+        }
+    }
+
+    // Delivered to listeners once the transaction commits, for example the live admin metrics stream
+    private void publishChanged(UUID hotelId) {
+        eventPublisher.publishEvent(new ReservationChangedEvent(hotelId));
+    }
+
+    private static boolean isActive(Status status) {
+        return RoomAvailabilityIndex.ACTIVE_STATUSES.contains(status);
+    }
 }
 
@@ -0,0 +1,56 @@
+package com.skillstorm.reserveone.services;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.skillstorm.reserveone.models.Reservation.Status;
+
+/**
+ * The reservation lifecycle: which status changes are allowed.
+ *
+ * <pre>
+ * PENDING    -> CONFIRMED, CANCELLED
+ * CONFIRMED  -> CHECKED_IN, CANCELLED, NO_SHOW
+ * CHECKED_IN -> CHECKED_OUT, CANCELLED
+ * CHECKED_OUT, CANCELLED, NO_SHOW are final
+ * </pre>
+ *
+ * <p>Every status change goes through this table: the service methods, payment webhooks
+ * and the set-wise UPDATEs of {@link ReservationLifecycleService}, whose WHERE clauses
+ * select only rows in an allowed source status.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+public final class ReservationTransitions {
+
+    private static final Map<Status, Set<Status>> ALLOWED = new EnumMap<>(Status.class);
+
+    static {
+        ALLOWED.put(Status.PENDING, EnumSet.of(Status.CONFIRMED, Status.CANCELLED));
+        ALLOWED.put(Status.CONFIRMED, EnumSet.of(Status.CHECKED_IN, Status.CANCELLED, Status.NO_SHOW));
+        ALLOWED.put(Status.CHECKED_IN, EnumSet.of(Status.CHECKED_OUT, Status.CANCELLED));
+        ALLOWED.put(Status.CHECKED_OUT, EnumSet.noneOf(Status.class));
+        ALLOWED.put(Status.CANCELLED, EnumSet.noneOf(Status.class));
+        ALLOWED.put(Status.NO_SHOW, EnumSet.noneOf(Status.class));
+    }
+
+    private ReservationTransitions() {
+    }
+
+    /**
+     * Returns whether a reservation may move from {@code from} to {@code to}.
+     */
+    public static boolean isAllowed(Status from, Status to) {
+        return ALLOWED.get(from).contains(to);
+    }
+
+    /**
+     * Returns whether no further status change is possible.
+     */
+    public static boolean isFinal(Status status) {
+        return ALLOWED.get(status).isEmpty();
+    }
+}
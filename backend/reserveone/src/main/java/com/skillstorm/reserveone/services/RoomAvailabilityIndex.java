@@ -0,0 +1,317 @@
+package com.skillstorm.reserveone.services;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.skillstorm.reserveone.models.Reservation;
+import com.skillstorm.reserveone.models.ReservationHold;
+import com.skillstorm.reserveone.repositories.ReservationHoldRepository;
+import com.skillstorm.reserveone.repositories.ReservationRepository;
+import com.skillstorm.reserveone.repositories.projections.ActiveHoldView;
+import com.skillstorm.reserveone.repositories.projections.RoomStayView;
+
+/**
+ * In-memory availability index holding one day-bitmap per room.
+ *
+ * <p>Bit {@code n} of a room's bitmap is set when night {@code origin + n} is taken by a
+ * reservation in an active status (PENDING, CONFIRMED or CHECKED_IN). The bitmaps cover a
+ * rolling horizon starting today; a search whose dates fall inside the horizon is answered
+ * with a range test per room instead of an overlap query.
+ *
+ * <p>Active reservation holds are kept alongside the bitmaps, keyed by room and hold ID with
+ * their expiry. A hold blocks its nights until it expires, is cancelled or is removed, so a
+ * room a guest is paying for right now is not offered to anyone else.
+ *
+ * <p>The index is built when the application is ready and rebuilt on a fixed delay, which
+ * rolls the horizon forward and picks up bookings written by other instances. Local changes
+ * are applied after their transaction commits. Updates are idempotent, so a change that lands
+ * while a rebuild is reading the database is never lost or double counted.
+ *
+ * <p>The database exclusion constraint remains the source of truth; the index only decides
+ * which rooms are offered.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Component
+public class RoomAvailabilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomAvailabilityIndex.class);
+
+    public static final List<Reservation.Status> ACTIVE_STATUSES = List.of(
+        Reservation.Status.PENDING,
+        Reservation.Status.CONFIRMED,
+        Reservation.Status.CHECKED_IN);
+
+    private final ReservationRepository reservationRepository;
+    private final ReservationHoldRepository holdRepository;
+    private final boolean enabled;
+    private final int horizonDays;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; origin is the epoch day represented by bit 0, journal is non-null during a rebuild
+    private Map<UUID, BitSet> rooms = new HashMap<>();
+    private Map<UUID, Map<UUID, Hold>> holdsByRoom = new HashMap<>();
+    private long originEpochDay;
+    private boolean ready;
+    private List<Runnable> journal;
+
+    private record Hold(LocalDate startDate, LocalDate endDate, OffsetDateTime expiresAt) {
+    }
+
+    public RoomAvailabilityIndex(
+            ReservationRepository reservationRepository,
+            ReservationHoldRepository holdRepository,
+            @Value("${availability.index.enabled:true}") boolean enabled,
+            @Value("${availability.index.horizon-days:548}") int horizonDays) {
+        this.reservationRepository = reservationRepository;
+        this.holdRepository = holdRepository;
+        this.enabled = enabled;
+        this.horizonDays = horizonDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+        initialDelayString = "${availability.index.refresh-ms:300000}",
+        fixedDelayString = "${availability.index.refresh-ms:300000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every active stay and unexpired hold inside the horizon and swaps in the new bitmaps.
+     * Updates committed while the reload is running are journaled and replayed onto
+     * the new bitmaps. On failure the index is marked not ready so searches fall back
+     * to the database.
+     */
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            LocalDate origin = LocalDate.now();
+            long originDay = origin.toEpochDay();
+            LocalDate horizonEnd = origin.plusDays(horizonDays);
+            List<RoomStayView> stays = reservationRepository.findStaysByStatusInAndDateRange(
+                ACTIVE_STATUSES, origin, horizonEnd);
+            List<ActiveHoldView> holds = holdRepository.findUnexpiredHoldsInDateRange(
+                ReservationHold.Status.ACTIVE, OffsetDateTime.now(), origin, horizonEnd);
+
+            Map<UUID, BitSet> rebuilt = new HashMap<>();
+            for (RoomStayView stay : stays) {
+                BitSet bits = rebuilt.computeIfAbsent(stay.getRoomId(), id -> new BitSet(horizonDays));
+                setRange(bits, originDay, stay.getStartDate(), stay.getEndDate(), true);
+            }
+            Map<UUID, Map<UUID, Hold>> rebuiltHolds = new HashMap<>();
+            for (ActiveHoldView hold : holds) {
+                rebuiltHolds.computeIfAbsent(hold.getRoomId(), id -> new HashMap<>())
+                    .put(hold.getHoldId(), new Hold(hold.getStartDate(), hold.getEndDate(), hold.getExpiresAt()));
+            }
+
+            lock.writeLock().lock();
+            try {
+                rooms = rebuilt;
+                holdsByRoom = rebuiltHolds;
+                originEpochDay = originDay;
+                for (Runnable update : journal) {
+                    update.run();
+                }
+                ready = true;
+            } finally {
+                journal = null;
+                lock.writeLock().unlock();
+            }
+
+            log.info("Availability index rebuilt: {} stays across {} rooms, {} holds, horizon {} days from {}",
+                    stays.size(), rebuilt.size(), holds.size(), horizonDays, origin);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            try {
+                journal = null;
+                ready = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.error("Availability index rebuild failed; searches will use the database: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns whether the whole half-open range [startDate, endDate) lies inside the horizon.
+     */
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            return ready
+                && startDate.toEpochDay() >= originEpochDay
+                && endDate.toEpochDay() <= originEpochDay + horizonDays;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns whether no night of [startDate, endDate) is taken or held for the room.
+     * Callers must check {@link #covers(LocalDate, LocalDate)} first.
+     */
+    public boolean isFree(UUID roomId, LocalDate startDate, LocalDate endDate) {
+        lock.readLock().lock();
+        try {
+            BitSet bits = rooms.get(roomId);
+            if (bits != null) {
+                int from = (int) (startDate.toEpochDay() - originEpochDay);
+                int to = (int) (endDate.toEpochDay() - originEpochDay);
+                int next = bits.nextSetBit(from);
+                if (next >= 0 && next < to) {
+                    return false;
+                }
+            }
+            return !isHeld(roomId, startDate, endDate);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks [startDate, endDate) as taken for the room once the current transaction commits.
+     */
+    public void reserve(UUID roomId, LocalDate startDate, LocalDate endDate) {
+        afterCommit(() -> update(roomId, startDate, endDate, true));
+    }
+
+    /**
+     * Marks [startDate, endDate) as free for the room once the current transaction commits.
+     */
+    public void release(UUID roomId, LocalDate startDate, LocalDate endDate) {
+        afterCommit(() -> update(roomId, startDate, endDate, false));
+    }
+
+    /**
+     * Records an active hold on the room once the current transaction commits. Replaces any
+     * earlier entry for the same hold.
+     */
+    public void putHold(UUID holdId, UUID roomId, LocalDate startDate, LocalDate endDate, OffsetDateTime expiresAt) {
+        Hold hold = new Hold(startDate, endDate, expiresAt);
+        afterCommit(() -> update(() -> holdsByRoom.computeIfAbsent(roomId, id -> new HashMap<>()).put(holdId, hold)));
+    }
+
+    /**
+     * Drops a hold from the room once the current transaction commits.
+     */
+    public void removeHold(UUID holdId, UUID roomId) {
+        afterCommit(() -> update(() -> {
+            Map<UUID, Hold> holds = holdsByRoom.get(roomId);
+            if (holds != null) {
+                holds.remove(holdId);
+                if (holds.isEmpty()) {
+                    holdsByRoom.remove(roomId);
+                }
+            }
+        }));
+    }
+
+    private void update(UUID roomId, LocalDate startDate, LocalDate endDate, boolean taken) {
+        update(() -> applyRange(roomId, startDate, endDate, taken));
+    }
+
+    // Runs the change now if the index is live and journals it for replay if a rebuild is running
+    private void update(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(change);
+            }
+            if (ready) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private void applyRange(UUID roomId, LocalDate startDate, LocalDate endDate, boolean taken) {
+        BitSet bits = rooms.get(roomId);
+        if (bits == null) {
+            if (!taken) {
+                return;
+            }
+            bits = new BitSet(horizonDays);
+            rooms.put(roomId, bits);
+        }
+        setRange(bits, originEpochDay, startDate, endDate, taken);
+    }
+
+    // Caller must hold the read or write lock
+    private boolean isHeld(UUID roomId, LocalDate startDate, LocalDate endDate) {
+        Map<UUID, Hold> holds = holdsByRoom.get(roomId);
+        if (holds == null) {
+            return false;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        for (Hold hold : holds.values()) {
+            if (hold.expiresAt().isAfter(now)
+                    && hold.startDate().isBefore(endDate)
+                    && hold.endDate().isAfter(startDate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Clamps the stay to the horizon before touching the bitmap
+    private void setRange(BitSet bits, long originDay, LocalDate startDate, LocalDate endDate, boolean taken) {
+        int from = (int) Math.max(0, startDate.toEpochDay() - originDay);
+        int to = (int) Math.min(horizonDays, endDate.toEpochDay() - originDay);
+        if (from < to) {
+            bits.set(from, to, taken);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,51 +1,115 @@
 package com.skillstorm.reserveone.services;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.skillstorm.reserveone.dto.AvailabilityBatchResultDTO;
+import com.skillstorm.reserveone.dto.AvailabilityQueryDTO;
+import com.skillstorm.reserveone.dto.AvailableRoomsDTO;
+import com.skillstorm.reserveone.dto.CheapestRoomDTO;
+import com.skillstorm.reserveone.dto.FlexibleAvailabilityDTO;
 import com.skillstorm.reserveone.dto.RoomRequestDTO;
 import com.skillstorm.reserveone.dto.RoomResponseDTO;
+import com.skillstorm.reserveone.dto.RoomTypeAvailabilityDTO;
+import com.skillstorm.reserveone.exceptions.PreconditionFailedException;
 import com.skillstorm.reserveone.exceptions.ResourceConflictException;
 import com.skillstorm.reserveone.exceptions.ResourceNotFoundException;
+import com.skillstorm.reserveone.exceptions.ServiceUnavailableException;
 import com.skillstorm.reserveone.mappers.RoomMapper;
 import com.skillstorm.reserveone.models.Hotel;
-import com.skillstorm.reserveone.models.Reservation;
 import com.skillstorm.reserveone.models.Room;
-import com.skillstorm.reserveone.models.Room.Status;
 import com.skillstorm.reserveone.models.RoomType;
 import com.skillstorm.reserveone.repositories.HotelRepository;
 import com.skillstorm.reserveone.repositories.ReservationRepository;
 import com.skillstorm.reserveone.repositories.RoomRepository;
 import com.skillstorm.reserveone.repositories.RoomTypeRepository;
+import com.skillstorm.reserveone.repositories.projections.BookableRoomView;
+import com.skillstorm.reserveone.repositories.projections.RoomStayView;
+import com.skillstorm.reserveone.repositories.projections.RoomTypeAvailabilityView;
+import com.skillstorm.reserveone.repositories.projections.RoomTypePriceView;
+import com.skillstorm.reserveone.repositories.projections.RoomView;
 
 @Service
 @Transactional
 public class RoomService {
 
+    private static final Logger log = LoggerFactory.getLogger(RoomService.class);
+
+    private static final long MAX_FLEXIBLE_WINDOW_DAYS = 90;
+    private static final int MAX_FLEXIBLE_NIGHTS = 30;
+    private static final int MAX_CHEAPEST_RESULTS = 50;
+    private static final int MIN_ROOM_TYPE_PAGE_SIZE = 20;
+    private static final int MAX_BATCH_QUERIES = 50;
+    private static final long MAX_BATCH_SPAN_DAYS = 730;
+
     private final RoomRepository roomRepository;
     private final HotelRepository hotelRepository;
     private final RoomTypeRepository roomTypeRepository;
     private final ReservationRepository reservationRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final AvailabilityCalendarService calendarService;
     private final RoomMapper mapper;
+    private final Executor searchExecutor;
+    private final TransactionTemplate searchTransaction;
+    private final int searchParallelism;
+    private final long searchDeadlineMillis;
 
     public RoomService(
             RoomRepository roomRepository,
             HotelRepository hotelRepository,
             RoomTypeRepository roomTypeRepository,
             ReservationRepository reservationRepository,
-            RoomMapper mapper) {
+            RoomAvailabilityIndex availabilityIndex,
+            AvailabilityCalendarService calendarService,
+            RoomMapper mapper,
+            @Qualifier("availabilitySearchExecutor") Executor searchExecutor,
+            PlatformTransactionManager transactionManager,
+            @Value("${availability.search.parallelism:3}") int searchParallelism,
+            @Value("${availability.search.deadline-ms:2000}") long searchDeadlineMillis) {
         this.roomRepository = roomRepository;
         this.hotelRepository = hotelRepository;
         this.roomTypeRepository = roomTypeRepository;
         this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.calendarService = calendarService;
         this.mapper = mapper;
+        this.searchExecutor = searchExecutor;
+        this.searchTransaction = new TransactionTemplate(transactionManager);
+        this.searchTransaction.setReadOnly(true);
+        this.searchParallelism = Math.max(1, searchParallelism);
+        this.searchDeadlineMillis = searchDeadlineMillis;
     }
 
     public RoomResponseDTO createOne(RoomRequestDTO dto) {
@@ -63,6 +127,7 @@ public class RoomService {
         
         Room room = mapper.toEntity(dto, hotel, roomType);
         Room saved = roomRepository.save(room);
+        calendarService.evictAfterCommit(hotel.getHotelId());
         return mapper.toResponse(saved);
     }
 
@@ -87,9 +152,13 @@ public class RoomService {
             .collect(Collectors.toList());
     }
 
-    public RoomResponseDTO updateOne(UUID id, RoomRequestDTO dto) {
+    public RoomResponseDTO updateOne(UUID id, RoomRequestDTO dto, Long expectedVersion) {
         Room room = roomRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(room.getVersion())) {
+            throw new PreconditionFailedException(
+                "Resource has changed (current version " + room.getVersion() + ", expected " + expectedVersion + ")");
+        }
         
         Hotel hotel = hotelRepository.findById(dto.hotelId())
             .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + dto.hotelId()));
@@ -104,100 +173,553 @@ public class RoomService {
                 "Room with number " + dto.roomNumber() + " already exists for hotel " + dto.hotelId());
         }
         
+        UUID previousHotelId = room.getHotel().getHotelId();
         mapper.applyUpdate(dto, room, hotel, roomType);
-        Room updated = roomRepository.save(room);
+        Room updated = roomRepository.saveAndFlush(room);
+
+        // Room status and type feed the calendar's room counts
+        calendarService.evictAfterCommit(previousHotelId);
+        if (!previousHotelId.equals(hotel.getHotelId())) {
+            calendarService.evictAfterCommit(hotel.getHotelId());
+        }
         return mapper.toResponse(updated);
     }
 
     public void deleteOne(UUID id) {
-        if (!roomRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Room not found with id: " + id);
+        Room room = roomRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
+        roomRepository.delete(room);
+        calendarService.evictAfterCommit(room.getHotel().getHotelId());
+    }
+
+    /**
+     * Searches for rooms that can be booked for [startDate, endDate).
+     *
+     * <p>A search for one hotel (or one room type, which pins the hotel) runs on the
+     * calling thread. A cross-hotel search is split into one sub-search per hotel, run by a
+     * few workers on the bounded availability search executor. Hotels that are not searched
+     * by the overall deadline, or whose sub-search fails, are left out of the result instead
+     * of stalling the response, and are counted in {@link AvailableRoomsDTO#skippedHotels()}
+     * so the caller knows the list is partial; the search only fails if no hotel could be
+     * searched.
+     *
+     * <p>This method does not open a transaction of its own, so the request thread does
+     * not hold a connection while it waits; each repository call runs in its own
+     * read-only transaction.
+     *
+     * @param hotelId the hotel to search, or null for all hotels
+     * @param startDate the first night (inclusive)
+     * @param endDate the check-out date (exclusive)
+     * @param guestCount the minimum room type capacity, or null for any
+     * @param roomTypeId the room type to search, or null for any
+     * @return available rooms ordered by hotel and room number, with the number of hotels skipped
+     * @throws IllegalArgumentException if the dates are missing, reversed or in the past
+     * @throws ResourceNotFoundException if hotelId does not match a hotel
+     * @throws ServiceUnavailableException if a search across all hotels got no hotel's answer
+     *         before the deadline, or the executor accepted none of its workers
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public AvailableRoomsDTO searchAvailableRooms(
+            UUID hotelId,
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer guestCount,
+            UUID roomTypeId) {
+        
+        validateStayDates(startDate, endDate);
+        
+        int minGuests = (guestCount != null && guestCount > 0) ? guestCount : 0;
+
+        List<RoomView> availableRooms;
+        int skippedHotels = 0;
+        if (hotelId == null && roomTypeId == null) {
+            HotelSearchResult result = searchAllHotels(minGuests, startDate, endDate);
+            availableRooms = result.rooms();
+            skippedHotels = result.skippedHotels();
+        } else {
+            availableRooms = findAvailableRoomViews(hotelId, roomTypeId, minGuests, startDate, endDate);
         }
-        roomRepository.deleteById(id);
+
+        // Only distinguish "unknown hotel" from "nothing free" when there are no results
+        if (availableRooms.isEmpty() && hotelId != null && !hotelRepository.existsById(hotelId)) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + hotelId);
+        }
+        
+        // Convert to DTOs
+        List<RoomResponseDTO> rooms = availableRooms.stream()
+            .map(mapper::toResponse)
+            .collect(Collectors.toList());
+        return new AvailableRoomsDTO(rooms, skippedHotels);
     }
 
+    /**
+     * Summarises availability per room type: how many rooms of each type are free for
+     * [startDate, endDate) and the type's base price, cheapest first.
+     *
+     * <p>Takes the same filters as {@link #searchAvailableRooms} but counts in SQL with a
+     * GROUP BY, so the response has one entry per room type rather than one per room.
+     *
+     * @param hotelId the hotel to search, or null for all hotels
+     * @param startDate the first night (inclusive)
+     * @param endDate the check-out date (exclusive)
+     * @param guestCount the minimum room type capacity, or null for any
+     * @param roomTypeId the room type to search, or null for any
+     * @return room types with at least one free room, cheapest first
+     * @throws IllegalArgumentException if the dates are missing, reversed or in the past
+     * @throws ResourceNotFoundException if hotelId does not match a hotel
+     */
     @Transactional(readOnly = true)
-    public List<RoomResponseDTO> searchAvailableRooms(
+    public List<RoomTypeAvailabilityDTO> summarizeAvailableRooms(
             UUID hotelId,
             LocalDate startDate,
             LocalDate endDate,
             Integer guestCount,
             UUID roomTypeId) {
-        
-        // Validate dates
-        if (startDate == null || endDate == null) {
-            throw new IllegalArgumentException("Start date and end date are required");
+
+        validateStayDates(startDate, endDate);
+        int minGuests = (guestCount != null && guestCount > 0) ? guestCount : 0;
+
+        List<RoomTypeAvailabilityView> counts = roomRepository.countAvailableByRoomType(
+            hotelId, roomTypeId, minGuests, startDate, endDate);
+        if (counts.isEmpty() && hotelId != null && !hotelRepository.existsById(hotelId)) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + hotelId);
         }
-        if (endDate.isBefore(startDate) || endDate.equals(startDate)) {
-            throw new IllegalArgumentException("End date must be after start date");
+
+        return counts.stream()
+            .map(count -> new RoomTypeAvailabilityDTO(
+                count.getHotelId(),
+                count.getRoomTypeId(),
+                count.getName(),
+                count.getBasePrice(),
+                count.getMaxGuests(),
+                count.getAvailableRooms().intValue()))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Answers several availability searches at once, returning one result per query in
+     * request order.
+     *
+     * <p>Bookable rooms for the union of the queried hotels are fetched once, together with
+     * their room type capacity. Unless the in-memory index covers the union of the date
+     * ranges, the reservations and holds overlapping that union are also fetched once, in a
+     * single query. Each query is then answered in memory against that shared set.
+     *
+     * @param queries the searches to run, at most 50
+     * @return the available rooms for each query, in the same order as the queries
+     * @throws IllegalArgumentException if any query has invalid dates or the batch is too large
+     * @throws ResourceNotFoundException if any queried hotel does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<AvailabilityBatchResultDTO> searchAvailableRoomsBatch(List<AvailabilityQueryDTO> queries) {
+        if (queries == null || queries.isEmpty()) {
+            throw new IllegalArgumentException("At least one query is required");
         }
-        if (startDate.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("Start date cannot be in the past");
+        if (queries.size() > MAX_BATCH_QUERIES) {
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_QUERIES + " queries");
         }
-        
-        // Find rooms in the specified hotel (or all hotels if hotelId is null)
-        List<Room> candidateRooms = new ArrayList<>();
-        if (hotelId != null) {
-            // Validate hotel exists
+
+        LocalDate unionStart = null;
+        LocalDate unionEnd = null;
+        boolean allHotels = false;
+        Set<UUID> hotelIds = new LinkedHashSet<>();
+        for (AvailabilityQueryDTO query : queries) {
+            validateStayDates(query.startDate(), query.endDate());
+            if (unionStart == null || query.startDate().isBefore(unionStart)) {
+                unionStart = query.startDate();
+            }
+            if (unionEnd == null || query.endDate().isAfter(unionEnd)) {
+                unionEnd = query.endDate();
+            }
+            if (query.hotelId() == null) {
+                allHotels = true;
+            } else {
+                hotelIds.add(query.hotelId());
+            }
+        }
+        if (ChronoUnit.DAYS.between(unionStart, unionEnd) > MAX_BATCH_SPAN_DAYS) {
+            throw new IllegalArgumentException("Batch queries must fall within " + MAX_BATCH_SPAN_DAYS + " days of each other");
+        }
+
+        List<UUID> hotelIdList = new ArrayList<>(hotelIds);
+        List<BookableRoomView> candidates = allHotels
+            ? roomRepository.findAllBookableRoomViews()
+            : roomRepository.findBookableRoomViewsByHotels(hotelIdList);
+        requireHotelsExist(hotelIds, candidates);
+
+        // Taken nights relative to unionStart; left empty when the index answers the date check
+        boolean useIndex = availabilityIndex.covers(unionStart, unionEnd);
+        Map<UUID, BitSet> takenByRoom = new HashMap<>();
+        if (!useIndex) {
+            List<RoomStayView> stays = allHotels
+                ? reservationRepository.findBlockedStaysByDateRange(unionStart, unionEnd)
+                : reservationRepository.findBlockedStaysByHotelsAndDateRange(hotelIdList, unionStart, unionEnd);
+            int span = (int) ChronoUnit.DAYS.between(unionStart, unionEnd);
+            for (RoomStayView stay : stays) {
+                int from = (int) Math.max(0, ChronoUnit.DAYS.between(unionStart, stay.getStartDate()));
+                int to = (int) Math.min(span, ChronoUnit.DAYS.between(unionStart, stay.getEndDate()));
+                if (from < to) {
+                    takenByRoom.computeIfAbsent(stay.getRoomId(), id -> new BitSet(span)).set(from, to);
+                }
+            }
+        }
+
+        List<AvailabilityBatchResultDTO> results = new ArrayList<>(queries.size());
+        for (AvailabilityQueryDTO query : queries) {
+            int minGuests = (query.guestCount() != null && query.guestCount() > 0) ? query.guestCount() : 0;
+            int from = (int) ChronoUnit.DAYS.between(unionStart, query.startDate());
+            int to = (int) ChronoUnit.DAYS.between(unionStart, query.endDate());
+
+            List<RoomResponseDTO> rooms = new ArrayList<>();
+            for (BookableRoomView room : candidates) {
+                if (query.hotelId() != null && !query.hotelId().equals(room.getHotelId())) {
+                    continue;
+                }
+                if (query.roomTypeId() != null && !query.roomTypeId().equals(room.getRoomTypeId())) {
+                    continue;
+                }
+                if (room.getMaxGuests() < minGuests) {
+                    continue;
+                }
+                boolean free;
+                if (useIndex) {
+                    free = availabilityIndex.isFree(room.getRoomId(), query.startDate(), query.endDate());
+                } else {
+                    BitSet taken = takenByRoom.get(room.getRoomId());
+                    int next = taken == null ? -1 : taken.nextSetBit(from);
+                    free = next < 0 || next >= to;
+                }
+                if (free) {
+                    rooms.add(mapper.toResponse(room));
+                }
+            }
+            results.add(new AvailabilityBatchResultDTO(query, rooms));
+        }
+        return results;
+    }
+
+    // Hotels with bookable rooms exist; only the rest need a lookup
+    private void requireHotelsExist(Set<UUID> hotelIds, List<BookableRoomView> candidates) {
+        Set<UUID> unresolved = new HashSet<>(hotelIds);
+        for (BookableRoomView room : candidates) {
+            unresolved.remove(room.getHotelId());
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        hotelRepository.findAllById(unresolved).forEach(hotel -> unresolved.remove(hotel.getHotelId()));
+        if (!unresolved.isEmpty()) {
+            throw new ResourceNotFoundException("Hotel not found with id: " + unresolved.iterator().next());
+        }
+    }
+
+    /**
+     * Returns the {@code limit} cheapest rooms, across all hotels, that can be booked for
+     * [startDate, endDate), ranked by room type base price.
+     *
+     * <p>Active room types that fit the party are walked in price order one page at a time,
+     * and availability is checked only for the rooms of the current page. The walk stops as
+     * soon as {@code limit} rooms are found, so on busy dates only the cheap end of the
+     * inventory is examined. Each page is one query, and its rows come back already in price
+     * order, so no in-memory sort or heap is needed.
+     *
+     * @param startDate the first night (inclusive)
+     * @param endDate the check-out date (exclusive)
+     * @param guestCount the minimum room type capacity, or null for any
+     * @param limit the number of rooms to return
+     * @return up to {@code limit} rooms, cheapest first
+     * @throws IllegalArgumentException if the dates are invalid or the limit is out of range
+     */
+    @Transactional(readOnly = true)
+    public List<CheapestRoomDTO> searchCheapestAvailableRooms(
+            LocalDate startDate,
+            LocalDate endDate,
+            Integer guestCount,
+            int limit) {
+
+        validateStayDates(startDate, endDate);
+        if (limit < 1 || limit > MAX_CHEAPEST_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_CHEAPEST_RESULTS);
+        }
+
+        int minGuests = (guestCount != null && guestCount > 0) ? guestCount : 0;
+        int pageSize = Math.max(limit, MIN_ROOM_TYPE_PAGE_SIZE);
+        boolean useIndex = availabilityIndex.covers(startDate, endDate);
+
+        List<CheapestRoomDTO> results = new ArrayList<>(limit);
+        for (int page = 0; results.size() < limit; page++) {
+            List<RoomTypePriceView> roomTypes = roomTypeRepository.findActiveByPrice(
+                minGuests, PageRequest.of(page, pageSize));
+            if (roomTypes.isEmpty()) {
+                break;
+            }
+
+            Map<UUID, RoomTypePriceView> typesById = new HashMap<>();
+            for (RoomTypePriceView roomType : roomTypes) {
+                typesById.put(roomType.getRoomTypeId(), roomType);
+            }
+            List<UUID> roomTypeIds = new ArrayList<>(typesById.keySet());
+            int remaining = limit - results.size();
+
+            List<RoomView> rooms;
+            if (useIndex) {
+                rooms = roomRepository.findBookableRoomViewsByRoomTypes(roomTypeIds).stream()
+                    .filter(room -> availabilityIndex.isFree(room.getRoomId(), startDate, endDate))
+                    .limit(remaining)
+                    .collect(Collectors.toList());
+            } else {
+                rooms = roomRepository.findAvailableRoomViewsByRoomTypes(roomTypeIds, startDate, endDate, remaining);
+            }
+
+            for (RoomView room : rooms) {
+                RoomTypePriceView roomType = typesById.get(room.getRoomTypeId());
+                results.add(new CheapestRoomDTO(
+                    room.getRoomId(),
+                    room.getHotelId(),
+                    room.getRoomTypeId(),
+                    room.getRoomNumber(),
+                    room.getFloor(),
+                    roomType.getName(),
+                    roomType.getBasePrice(),
+                    roomType.getMaxGuests()));
+            }
+
+            if (roomTypes.size() < pageSize) {
+                break;
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Finds every stay of {@code nights} nights that fits inside [windowStart, windowEnd)
+     * at one hotel, as (startDate, room type, free room count) entries.
+     *
+     * <p>The hotel's bookable rooms and the reservations and unexpired holds overlapping the
+     * window are fetched once. Each room's taken nights are laid out as a bitmap over the window and a
+     * window of {@code nights} days slides across it, so every candidate start date is
+     * answered in a single pass instead of one search per date.
+     *
+     * @param hotelId the hotel to search
+     * @param windowStart the earliest check-in date (inclusive)
+     * @param windowEnd the latest check-out date (inclusive)
+     * @param nights the stay length
+     * @param guestCount the minimum room type capacity, or null for any
+     * @param roomTypeId the room type to search, or null for any
+     * @return feasible stays ordered by start date, only entries with at least one free room
+     * @throws IllegalArgumentException if the window or stay length is invalid
+     * @throws ResourceNotFoundException if the hotel does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<FlexibleAvailabilityDTO> searchFlexibleAvailability(
+            UUID hotelId,
+            LocalDate windowStart,
+            LocalDate windowEnd,
+            int nights,
+            Integer guestCount,
+            UUID roomTypeId) {
+
+        if (hotelId == null) {
+            throw new IllegalArgumentException("Hotel ID is required");
+        }
+        if (windowStart == null || windowEnd == null) {
+            throw new IllegalArgumentException("Window start and window end are required");
+        }
+        if (windowStart.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Window start cannot be in the past");
+        }
+        if (nights < 1 || nights > MAX_FLEXIBLE_NIGHTS) {
+            throw new IllegalArgumentException("Nights must be between 1 and " + MAX_FLEXIBLE_NIGHTS);
+        }
+        long windowLength = ChronoUnit.DAYS.between(windowStart, windowEnd);
+        if (windowLength < nights) {
+            throw new IllegalArgumentException("Window must be at least as long as the stay");
+        }
+        if (windowLength > MAX_FLEXIBLE_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Window cannot exceed " + MAX_FLEXIBLE_WINDOW_DAYS + " days");
+        }
+
+        int minGuests = (guestCount != null && guestCount > 0) ? guestCount : 0;
+        List<RoomView> rooms = roomRepository.findBookableRoomViews(hotelId, roomTypeId, minGuests);
+        if (rooms.isEmpty()) {
             if (!hotelRepository.existsById(hotelId)) {
                 throw new ResourceNotFoundException("Hotel not found with id: " + hotelId);
             }
-            candidateRooms = roomRepository.findByHotel_HotelIdAndStatus(hotelId, Status.AVAILABLE);
-        } else {
-            // If no hotel specified, search all hotels
-            List<Room> allRooms = roomRepository.findAll();
-            candidateRooms = allRooms.stream()
-                .filter(room -> room.getStatus() == Status.AVAILABLE)
-                .collect(Collectors.toList());
+            return List.of();
         }
-        
-        // Filter by room type if specified
-        if (roomTypeId != null) {
-            candidateRooms = candidateRooms.stream()
-                .filter(room -> room.getRoomType().getRoomTypeId().equals(roomTypeId))
-                .collect(Collectors.toList());
+
+        int windowDays = (int) windowLength;
+        Map<UUID, BitSet> takenByRoom = new HashMap<>();
+        for (RoomStayView stay : reservationRepository.findBlockedStaysByHotelAndDateRange(
+                hotelId, windowStart, windowEnd)) {
+            int from = (int) Math.max(0, ChronoUnit.DAYS.between(windowStart, stay.getStartDate()));
+            int to = (int) Math.min(windowDays, ChronoUnit.DAYS.between(windowStart, stay.getEndDate()));
+            if (from < to) {
+                takenByRoom.computeIfAbsent(stay.getRoomId(), id -> new BitSet(windowDays)).set(from, to);
+            }
         }
-        
-        // Filter by guest count (room type must accommodate the number of guests)
-        if (guestCount != null && guestCount > 0) {
-            candidateRooms = candidateRooms.stream()
-                .filter(room -> room.getRoomType().getMaxGuests() >= guestCount)
-                .collect(Collectors.toList());
+
+        // freeByType[type][s] = rooms of the type free for all nights of [windowStart + s, windowStart + s + nights)
+        int startCount = windowDays - nights + 1;
+        Map<UUID, int[]> freeByType = new LinkedHashMap<>();
+        for (RoomView room : rooms) {
+            int[] free = freeByType.computeIfAbsent(room.getRoomTypeId(), id -> new int[startCount]);
+            BitSet taken = takenByRoom.get(room.getRoomId());
+            if (taken == null) {
+                for (int start = 0; start < startCount; start++) {
+                    free[start]++;
+                }
+                continue;
+            }
+            int takenInWindow = taken.get(0, nights).cardinality();
+            for (int start = 0; start < startCount; start++) {
+                if (start > 0) {
+                    if (taken.get(start - 1)) {
+                        takenInWindow--;
+                    }
+                    if (taken.get(start + nights - 1)) {
+                        takenInWindow++;
+                    }
+                }
+                if (takenInWindow == 0) {
+                    free[start]++;
+                }
+            }
         }
-        
-        // Filter out rooms with active reservations in the date range
-        if (!candidateRooms.isEmpty()) {
-            List<UUID> candidateRoomIds = candidateRooms.stream()
-                .map(Room::getRoomId)
-                .collect(Collectors.toList());
-            
-            List<Reservation.Status> activeStatuses = List.of(
-                Reservation.Status.PENDING,
-                Reservation.Status.CONFIRMED,
-                Reservation.Status.CHECKED_IN
-            );
-            
-            List<Reservation> overlappingReservations = reservationRepository
-                .findByRoomIdsAndStatusInAndDateRange(
-                    candidateRoomIds,
-                    activeStatuses,
-                    startDate,
-                    endDate
-                );
-            
-            Set<UUID> reservedRoomIds = overlappingReservations.stream()
-                .map(res -> res.getRoom().getRoomId())
-                .collect(Collectors.toSet());
-            
-            candidateRooms = candidateRooms.stream()
-                .filter(room -> !reservedRoomIds.contains(room.getRoomId()))
+
+        List<FlexibleAvailabilityDTO> results = new ArrayList<>();
+        for (int start = 0; start < startCount; start++) {
+            LocalDate checkIn = windowStart.plusDays(start);
+            for (Map.Entry<UUID, int[]> entry : freeByType.entrySet()) {
+                int free = entry.getValue()[start];
+                if (free > 0) {
+                    results.add(new FlexibleAvailabilityDTO(checkIn, checkIn.plusDays(nights), entry.getKey(), free));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Searches every hotel on at most {@code availability.search.parallelism} workers and
+     * merges whatever finishes before the deadline, keeping hotel order.
+     *
+     * <p>The workers take hotels one at a time from a shared counter, so a request puts only
+     * that many tasks on the executor however many hotels there are, and concurrent searches
+     * share the pool instead of crowding each other out. A worker stops taking hotels at the
+     * deadline, and every sub-search runs with a statement timeout of the time left, so a
+     * query still running at the deadline is cancelled and its connection returned.
+     */
+    private HotelSearchResult searchAllHotels(int minGuests, LocalDate startDate, LocalDate endDate) {
+        List<UUID> hotelIds = hotelRepository.findAllHotelIds();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchDeadlineMillis);
+
+        // One slot per hotel, so the merge keeps hotel order whatever order the workers finish in
+        AtomicReferenceArray<List<RoomView>> found = new AtomicReferenceArray<>(hotelIds.size());
+        AtomicInteger nextHotel = new AtomicInteger();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            for (int i = nextHotel.getAndIncrement(); i < hotelIds.size(); i = nextHotel.getAndIncrement()) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    return;
+                }
+                UUID hotelId = hotelIds.get(i);
+                try {
+                    found.set(i, searchHotel(hotelId, minGuests, startDate, endDate, remainingMillis));
+                } catch (QueryTimeoutException e) {
+                    // Cancelled at the deadline; the hotel is reported as skipped
+                } catch (RuntimeException e) {
+                    log.warn("Availability search failed for hotel {}: {}", hotelId, e.getMessage());
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < Math.min(searchParallelism, hotelIds.size()); w++) {
+            try {
+                workers.add(CompletableFuture.runAsync(worker, searchExecutor));
+            } catch (RejectedExecutionException e) {
+                // Fewer workers only make this search slower; the accepted ones still cover every hotel
+                break;
+            }
+        }
+        if (workers.isEmpty() && !hotelIds.isEmpty()) {
+            throw new ServiceUnavailableException("Availability search is busy; please try again");
+        }
+
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).get(remaining, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Workers stop at the deadline on their own and running queries hit their statement timeout
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Availability search worker failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Availability search was interrupted", e);
+        }
+
+        List<RoomView> merged = new ArrayList<>();
+        int searched = 0;
+        for (int i = 0; i < hotelIds.size(); i++) {
+            List<RoomView> rooms = found.get(i);
+            if (rooms != null) {
+                merged.addAll(rooms);
+                searched++;
+            }
+        }
+        int skipped = hotelIds.size() - searched;
+
+        if (searched == 0 && failure.get() != null) {
+            throw failure.get();
+        }
+        if (searched == 0 && !hotelIds.isEmpty()) {
+            // Nothing answered in time: "no rooms" would be a lie, so report it as an error
+            throw new ServiceUnavailableException("Availability search timed out; please try again");
+        }
+        if (skipped > 0) {
+            log.warn("Availability search skipped {} of {} hotels (failed, or not searched within the {} ms deadline)",
+                    skipped, hotelIds.size(), searchDeadlineMillis);
+        }
+        return new HotelSearchResult(merged, skipped);
+    }
+
+    // One hotel's sub-search in its own read-only transaction, with every statement capped at the time left
+    private List<RoomView> searchHotel(
+            UUID hotelId, int minGuests, LocalDate startDate, LocalDate endDate, long timeoutMillis) {
+        return searchTransaction.execute(status -> {
+            roomRepository.setLocalStatementTimeout(timeoutMillis + "ms");
+            return findAvailableRoomViews(hotelId, null, minGuests, startDate, endDate);
+        });
+    }
+
+    private record HotelSearchResult(List<RoomView> rooms, int skippedHotels) {
+    }
+
+    // Status, room type, capacity and hotel filters run in SQL against a projection.
+    // When the in-memory index covers the dates it answers the overlap check; otherwise
+    // a single anti-join query does everything in one round trip.
+    private List<RoomView> findAvailableRoomViews(
+            UUID hotelId, UUID roomTypeId, int minGuests, LocalDate startDate, LocalDate endDate) {
+        if (availabilityIndex.covers(startDate, endDate)) {
+            return roomRepository.findBookableRoomViews(hotelId, roomTypeId, minGuests).stream()
+                .filter(room -> availabilityIndex.isFree(room.getRoomId(), startDate, endDate))
                 .collect(Collectors.toList());
         }
-        
-        // Convert to DTOs
-        return candidateRooms.stream()
-            .map(mapper::toResponse)
-            .collect(Collectors.toList());
+        return roomRepository.findAvailableRoomViews(hotelId, roomTypeId, minGuests, startDate, endDate);
     }
-}
 
+    private static void validateStayDates(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date are required");
+        }
+        if (endDate.isBefore(startDate) || endDate.equals(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (startDate.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Start date cannot be in the past");
+        }
+    }
+}
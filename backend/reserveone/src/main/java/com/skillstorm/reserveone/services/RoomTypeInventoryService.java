@@ -0,0 +1,213 @@
+package com.skillstorm.reserveone.services;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.skillstorm.reserveone.dto.DailyInventoryDTO;
+import com.skillstorm.reserveone.dto.RoomTypeInventoryDTO;
+import com.skillstorm.reserveone.exceptions.ResourceNotFoundException;
+import com.skillstorm.reserveone.models.Reservation;
+import com.skillstorm.reserveone.models.Reservation.Status;
+import com.skillstorm.reserveone.models.Room;
+import com.skillstorm.reserveone.models.RoomTypeInventory;
+import com.skillstorm.reserveone.repositories.RoomRepository;
+import com.skillstorm.reserveone.repositories.RoomTypeInventoryRepository;
+import com.skillstorm.reserveone.repositories.RoomTypeRepository;
+import com.skillstorm.reserveone.repositories.projections.DailySoldView;
+
+/**
+ * Service for the room-type inventory ledger, which stores how many rooms of each room
+ * type are sold for every night.
+ *
+ * <p>A reservation holds inventory for each night of [startDate, endDate) unless it is
+ * CANCELLED or NO_SHOW. A guest who checks out early releases the nights from the
+ * check-out day on (see {@link #heldUntil(Reservation)}), matching the availability index.
+ * Sales are added with atomic upserts and releases with atomic decrements inside the caller's
+ * transaction, so the ledger commits or rolls back together with the reservation change that
+ * caused it. A release is never clamped at zero: releasing nights the ledger does not hold
+ * fails the transaction, since it means the ledger has drifted and needs a {@link #rebuild()}.
+ * Room-type availability, sell-out checks and occupancy figures read the ledger and
+ * cost O(days) no matter how many reservations exist.
+ *
+ * <p>Capacity is the number of rooms of the type that are not OUT_OF_SERVICE.
+ *
+ * @author ReserveOne Team
+ * @since 1.0
+ */
+@Service
+@Transactional
+public class RoomTypeInventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(RoomTypeInventoryService.class);
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final RoomTypeInventoryRepository inventoryRepository;
+    private final RoomTypeRepository roomTypeRepository;
+    private final RoomRepository roomRepository;
+
+    public RoomTypeInventoryService(
+            RoomTypeInventoryRepository inventoryRepository,
+            RoomTypeRepository roomTypeRepository,
+            RoomRepository roomRepository) {
+        this.inventoryRepository = inventoryRepository;
+        this.roomTypeRepository = roomTypeRepository;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * Returns whether a reservation in the given status counts against inventory.
+     */
+    public static boolean holdsInventory(Status status) {
+        return status != Status.CANCELLED && status != Status.NO_SHOW;
+    }
+
+    /**
+     * Returns the night after the last one the reservation holds inventory for: its end date,
+     * or the check-out day if a CHECKED_OUT guest left early, but never before the start date.
+     */
+    public static LocalDate heldUntil(Reservation reservation) {
+        LocalDate checkedOutOn = reservation.getCheckedOutOn();
+        if (reservation.getStatus() != Status.CHECKED_OUT
+                || checkedOutOn == null
+                || !checkedOutOn.isBefore(reservation.getEndDate())) {
+            return reservation.getEndDate();
+        }
+        return checkedOutOn.isAfter(reservation.getStartDate()) ? checkedOutOn : reservation.getStartDate();
+    }
+
+    /**
+     * Adds one sold room of the type to every night of [startDate, endDate).
+     */
+    public void recordStay(UUID roomTypeId, LocalDate startDate, LocalDate endDate) {
+        inventoryRepository.addSoldCount(roomTypeId, startDate, endDate, 1);
+    }
+
+    /**
+     * Adds {@code rooms} sold rooms of the type to every night of [startDate, endDate).
+     */
+    public void recordStays(UUID roomTypeId, LocalDate startDate, LocalDate endDate, int rooms) {
+        inventoryRepository.addSoldCount(roomTypeId, startDate, endDate, rooms);
+    }
+
+    /**
+     * Removes one sold room of the type from every night of [startDate, endDate).
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if a night would drop below zero
+     * @throws IllegalStateException if the ledger has no row for some night of the range
+     */
+    public void releaseStay(UUID roomTypeId, LocalDate startDate, LocalDate endDate) {
+        int released = inventoryRepository.releaseSoldCount(roomTypeId, startDate, endDate, 1);
+        long nights = Math.max(0, ChronoUnit.DAYS.between(startDate, endDate));
+        if (released < nights) {
+            // A missing night holds nothing to release; creating it at zero would hide the drift
+            log.error("Inventory ledger underflow: room type {} holds only {} of the {} nights from {} to {}",
+                    roomTypeId, released, nights, startDate, endDate);
+            throw new IllegalStateException("Inventory ledger does not hold the nights being released for room type "
+                    + roomTypeId + "; rebuild the ledger");
+        }
+    }
+
+    /**
+     * Returns sold and available room counts for each night of [startDate, endDate).
+     *
+     * @param roomTypeId the UUID of the room type
+     * @param startDate the first night (inclusive)
+     * @param endDate the night after the last one (exclusive)
+     * @return RoomTypeInventoryDTO with one entry per night
+     * @throws IllegalArgumentException if the range is empty or longer than a year
+     * @throws ResourceNotFoundException if the room type does not exist
+     */
+    @Transactional(readOnly = true)
+    public RoomTypeInventoryDTO getInventory(UUID roomTypeId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        if (!roomTypeRepository.existsById(roomTypeId)) {
+            throw new ResourceNotFoundException("RoomType not found with id: " + roomTypeId);
+        }
+
+        int totalRooms = countSellableRooms(roomTypeId);
+        Map<LocalDate, Integer> soldByDate = new HashMap<>();
+        for (RoomTypeInventory row : inventoryRepository.findByRoomTypeAndDateRange(roomTypeId, startDate, endDate)) {
+            soldByDate.put(row.getStayDate(), row.getSoldCount());
+        }
+
+        List<DailyInventoryDTO> days = new ArrayList<>();
+        int minAvailable = totalRooms;
+        for (LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)) {
+            int sold = soldByDate.getOrDefault(date, 0);
+            int available = Math.max(totalRooms - sold, 0);
+            minAvailable = Math.min(minAvailable, available);
+            days.add(new DailyInventoryDTO(date, sold, available));
+        }
+
+        return new RoomTypeInventoryDTO(
+            roomTypeId, startDate, endDate, totalRooms, minAvailable, minAvailable == 0, days);
+    }
+
+    /**
+     * Returns whether every sellable room of the type is taken on at least one night
+     * of [startDate, endDate).
+     */
+    @Transactional(readOnly = true)
+    public boolean isSoldOut(UUID roomTypeId, LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+        return inventoryRepository.findPeakSoldCount(roomTypeId, startDate, endDate) >= countSellableRooms(roomTypeId);
+    }
+
+    /**
+     * Returns rooms sold per night for nights in [startDate, endDate] (inclusive), summed over
+     * the hotel's room types, or over all hotels when hotelId is null. Nights with no sales
+     * are absent from the map.
+     */
+    @Transactional(readOnly = true)
+    public Map<LocalDate, Integer> getSoldRoomsByDate(UUID hotelId, LocalDate startDate, LocalDate endDate) {
+        List<DailySoldView> rows = hotelId != null
+            ? inventoryRepository.sumSoldByHotelAndDateRange(hotelId, startDate, endDate)
+            : inventoryRepository.sumSoldByDateRange(startDate, endDate);
+
+        Map<LocalDate, Integer> soldByDate = new HashMap<>();
+        for (DailySoldView row : rows) {
+            soldByDate.put(row.getStayDate(), row.getSoldCount().intValue());
+        }
+        return soldByDate;
+    }
+
+    /**
+     * Recomputes the whole ledger from reservations. Used to repair drift, for example after
+     * reservations were edited directly in the database.
+     *
+     * @return the number of ledger rows written
+     */
+    public int rebuild() {
+        inventoryRepository.deleteAllRows();
+        int rows = inventoryRepository.insertFromReservations();
+        log.info("Room type inventory ledger rebuilt: {} rows", rows);
+        return rows;
+    }
+
+    private int countSellableRooms(UUID roomTypeId) {
+        return (int) roomRepository.countByRoomType_RoomTypeIdAndStatusNot(roomTypeId, Room.Status.OUT_OF_SERVICE);
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Start date and end date are required");
+        }
+        if (!endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
@@ -24,14 +24,17 @@ public class RoomTypeService {
     private final RoomTypeRepository roomTypeRepository;
     private final HotelRepository hotelRepository;
     private final RoomTypeMapper mapper;
+    private final AvailabilityCalendarService calendarService;
 
     public RoomTypeService(
             RoomTypeRepository roomTypeRepository,
             HotelRepository hotelRepository,
-            RoomTypeMapper mapper) {
+            RoomTypeMapper mapper,
+            AvailabilityCalendarService calendarService) {
         this.roomTypeRepository = roomTypeRepository;
         this.hotelRepository = hotelRepository;
         this.mapper = mapper;
+        this.calendarService = calendarService;
     }
 
     public RoomTypeResponseDTO createOne(RoomTypeRequestDTO dto) {
@@ -40,6 +43,7 @@ public class RoomTypeService {
         
         RoomType roomType = mapper.toEntity(dto, hotel);
         RoomType saved = roomTypeRepository.save(roomType);
+        calendarService.evictAfterCommit(hotel.getHotelId());
         return mapper.toResponse(saved);
     }
 
@@ -71,16 +75,22 @@ public class RoomTypeService {
         Hotel hotel = hotelRepository.findById(dto.hotelId())
             .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with id: " + dto.hotelId()));
         
+        UUID previousHotelId = roomType.getHotel().getHotelId();
         mapper.applyUpdate(dto, roomType, hotel);
         RoomType updated = roomTypeRepository.save(roomType);
+
+        calendarService.evictAfterCommit(previousHotelId);
+        if (!previousHotelId.equals(hotel.getHotelId())) {
+            calendarService.evictAfterCommit(hotel.getHotelId());
+        }
         return mapper.toResponse(updated);
     }
 
     public void deleteOne(UUID id) {
-        if (!roomTypeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("RoomType not found with id: " + id);
-        }
-        roomTypeRepository.deleteById(id);
+        RoomType roomType = roomTypeRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("RoomType not found with id: " + id));
+        roomTypeRepository.delete(roomType);
+        calendarService.evictAfterCommit(roomType.getHotel().getHotelId());
     }
 }
 
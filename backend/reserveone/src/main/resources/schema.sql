@@ -6,8 +6,11 @@ CREATE EXTENSION IF NOT EXISTS btree_gist; -- needed for UUID equality in GiST e
 -- Note: We rely on DROP TABLE ... CASCADE to remove triggers.
 -- Spring's SQL initializer splits statements on semicolons and can break DO $$ blocks.
 DROP FUNCTION IF EXISTS set_updated_at() CASCADE;
+DROP TABLE IF EXISTS email_outbox CASCADE;
 DROP TABLE IF EXISTS payment_transactions CASCADE;
 DROP TABLE IF EXISTS reservation_holds CASCADE;
+DROP TABLE IF EXISTS hotel_daily_stats CASCADE;
+DROP TABLE IF EXISTS room_type_inventory CASCADE;
 DROP TABLE IF EXISTS reservations CASCADE;
 DROP TABLE IF EXISTS rooms CASCADE;
 DROP TABLE IF EXISTS room_type_amenities CASCADE;
@@ -147,6 +150,7 @@ CREATE TABLE rooms (
   floor        VARCHAR(20),
   status       VARCHAR(30) NOT NULL DEFAULT 'AVAILABLE',
   notes        VARCHAR(2000),
+  version      BIGINT NOT NULL DEFAULT 0,
   created_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
   updated_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
 
@@ -174,6 +178,9 @@ CREATE TABLE reservations (
   cancellation_reason  VARCHAR(2000),
   cancelled_at         TIMESTAMPTZ,
   cancelled_by_user_id UUID,
+  checked_out_on DATE,
+  group_id       UUID,
+  version        BIGINT NOT NULL DEFAULT 0,
   created_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
   updated_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
 
@@ -187,7 +194,39 @@ CREATE TABLE reservations (
   CONSTRAINT ck_res_guest_count CHECK (guest_count > 0),
   CONSTRAINT ck_res_total_amount CHECK (total_amount >= 0),
   CONSTRAINT ck_res_currency CHECK (currency ~ '^[A-Z]{3}$'),
-  CONSTRAINT ck_res_status CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'CHECKED_IN', 'CHECKED_OUT'))
+  CONSTRAINT ck_res_status CHECK (status IN ('PENDING', 'CONFIRMED', 'CANCELLED', 'CHECKED_IN', 'CHECKED_OUT', 'NO_SHOW'))
+);
+
+-- Room Type Inventory (nightly ledger of rooms sold per room type)
+CREATE TABLE room_type_inventory (
+  room_type_id UUID NOT NULL,
+  stay_date    DATE NOT NULL,
+  sold_count   INT  NOT NULL DEFAULT 0,
+  updated_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (room_type_id, stay_date),
+
+  CONSTRAINT fk_rti_room_type FOREIGN KEY (room_type_id) REFERENCES room_types(room_type_id) ON DELETE CASCADE,
+  CONSTRAINT ck_rti_sold_count CHECK (sold_count >= 0)
+);
+
+-- Daily hotel rollup (maintained by HotelDailyStatsService alongside the inventory ledger)
+CREATE TABLE hotel_daily_stats (
+  hotel_id       UUID NOT NULL,
+  stat_date      DATE NOT NULL,
+  occupied_rooms INT  NOT NULL DEFAULT 0,
+  arrivals       INT  NOT NULL DEFAULT 0,
+  departures     INT  NOT NULL DEFAULT 0,
+  check_ins      INT  NOT NULL DEFAULT 0,
+  check_outs     INT  NOT NULL DEFAULT 0,
+  cancellations  INT  NOT NULL DEFAULT 0,
+  revenue        NUMERIC(12, 2) NOT NULL DEFAULT 0,
+  updated_at     TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  PRIMARY KEY (hotel_id, stat_date),
+
+  CONSTRAINT fk_hds_hotel FOREIGN KEY (hotel_id) REFERENCES hotels(hotel_id) ON DELETE CASCADE,
+  CONSTRAINT ck_hds_counts CHECK (occupied_rooms >= 0 AND arrivals >= 0 AND departures >= 0
+                                  AND check_ins >= 0 AND check_outs >= 0
+                                  AND cancellations >= 0 AND revenue >= 0)
 );
 
 -- Reservation Holds
@@ -238,6 +277,27 @@ CREATE TABLE payment_transactions (
   CONSTRAINT ck_pay_status CHECK (status IN ('PROCESSING', 'SUCCEEDED', 'FAILED', 'REFUNDED', 'CANCELLED'))
 );
 
+-- Outgoing email, written in the same transaction as the change that triggers it
+-- and delivered by a background dispatcher (EmailOutboxDispatcher)
+CREATE TABLE email_outbox (
+  outbox_id       UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  message_type    VARCHAR(40) NOT NULL,
+  reservation_id  UUID NOT NULL,
+  status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+  attempts        INT NOT NULL DEFAULT 0,
+  next_attempt_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  last_error      VARCHAR(2000),
+  sent_at         TIMESTAMPTZ,
+  created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+  updated_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+  CONSTRAINT fk_outbox_res FOREIGN KEY (reservation_id) REFERENCES reservations(reservation_id) ON DELETE CASCADE,
+
+  CONSTRAINT ck_outbox_type CHECK (message_type IN ('RESERVATION_CONFIRMATION', 'GROUP_CONFIRMATION')),
+  CONSTRAINT ck_outbox_status CHECK (status IN ('PENDING', 'SENDING', 'SENT', 'FAILED')),
+  CONSTRAINT ck_outbox_attempts CHECK (attempts >= 0)
+);
+
 -- =========================================================
 -- Exclusion constraints (NO overlapping bookings/holds per room)
 -- Half-open daterange: [start_date, end_date)
@@ -278,27 +338,47 @@ CREATE INDEX IF NOT EXISTS idx_rooms_room_type_id ON rooms (room_type_id);
 CREATE INDEX IF NOT EXISTS idx_rta_amenity_id ON room_type_amenities (amenity_id);
 
 -- Reservations
-CREATE INDEX IF NOT EXISTS idx_reservations_hotel_id ON reservations (hotel_id);
-CREATE INDEX IF NOT EXISTS idx_reservations_user_id ON reservations (user_id);
-CREATE INDEX IF NOT EXISTS idx_reservations_room_id ON reservations (room_id);
 CREATE INDEX IF NOT EXISTS idx_reservations_room_type_id ON reservations (room_type_id);
-CREATE INDEX IF NOT EXISTS idx_reservations_user_start ON reservations (user_id, start_date);
 CREATE INDEX IF NOT EXISTS idx_reservations_hotel_status_start ON reservations (hotel_id, status, start_date);
 
+-- Keyset paging of GET /reservations in (start_date, reservation_id) order, unfiltered or
+-- by user / hotel / room. The filtered ones also serve plain lookups by their first column.
+CREATE INDEX IF NOT EXISTS idx_reservations_start_id ON reservations (start_date, reservation_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_user_start_id ON reservations (user_id, start_date, reservation_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_hotel_start_id ON reservations (hotel_id, start_date, reservation_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_room_start_id ON reservations (room_id, start_date, reservation_id);
+CREATE INDEX IF NOT EXISTS idx_reservations_group_id ON reservations (group_id) WHERE group_id IS NOT NULL;
+
+-- Lifecycle sweeps (ReservationLifecycleService): each scans only the rows it may move
+CREATE INDEX IF NOT EXISTS idx_reservations_pending_created ON reservations (created_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_reservations_confirmed_start ON reservations (start_date) WHERE status = 'CONFIRMED';
+CREATE INDEX IF NOT EXISTS idx_reservations_checked_in_end ON reservations (end_date) WHERE status = 'CHECKED_IN';
+
 -- High value for availability checks / range scans
 CREATE INDEX IF NOT EXISTS idx_reservations_start_end ON reservations (start_date, end_date);
 CREATE INDEX IF NOT EXISTS idx_holds_start_end ON reservation_holds (start_date, end_date);
 
+-- Inventory ledger (date-first for hotel-wide daily rollups)
+CREATE INDEX IF NOT EXISTS idx_rti_stay_date ON room_type_inventory (stay_date);
+
+-- Daily hotel rollup (date-first for all-hotel dashboards)
+CREATE INDEX IF NOT EXISTS idx_hds_stat_date ON hotel_daily_stats (stat_date);
+
 -- Holds
 CREATE INDEX IF NOT EXISTS idx_holds_room_id ON reservation_holds (room_id);
 CREATE INDEX IF NOT EXISTS idx_holds_expires_at ON reservation_holds (expires_at);
 CREATE INDEX IF NOT EXISTS idx_holds_user_id ON reservation_holds (user_id);
+CREATE INDEX IF NOT EXISTS idx_holds_hotel_active ON reservation_holds (hotel_id, start_date) WHERE status = 'ACTIVE';
 
 -- Payments
 CREATE INDEX IF NOT EXISTS idx_payments_reservation_id ON payment_transactions (reservation_id);
 CREATE INDEX IF NOT EXISTS idx_payments_user_id ON payment_transactions (user_id);
 CREATE INDEX IF NOT EXISTS idx_payments_status ON payment_transactions (status);
 
+-- Email outbox (only undelivered rows are polled)
+CREATE INDEX IF NOT EXISTS idx_outbox_due ON email_outbox (next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
+CREATE INDEX IF NOT EXISTS idx_outbox_reservation_id ON email_outbox (reservation_id);
+
 -- Triggers (updated_at)
 CREATE OR REPLACE FUNCTION set_updated_at()
 RETURNS trigger AS $$
@@ -347,3 +427,8 @@ CREATE TRIGGER trg_payments_updated_at
 BEFORE UPDATE ON payment_transactions
 FOR EACH ROW
 EXECUTE FUNCTION set_updated_at();
+
+CREATE TRIGGER trg_outbox_updated_at
+BEFORE UPDATE ON email_outbox
+FOR EACH ROW
+EXECUTE FUNCTION set_updated_at();
@@ -1,6 +1,6 @@
 import { HttpClient } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable, map } from 'rxjs';
+import { EMPTY, Observable, expand, map, reduce } from 'rxjs';
 import { environment } from '../../../../environments/environment';
 
 export type ReservationStatus = 'PENDING' | 'CONFIRMED' | 'CANCELLED' | 'CHECKED_IN' | 'CHECKED_OUT';
@@ -57,6 +57,8 @@ export type Alert = {
 @Injectable({ providedIn: 'root' })
 export class AdminMetricsService {
   private readonly api = environment.apiBaseUrl;
+  // Largest page GET /reservations accepts
+  private readonly pageSize = 500;
 
   constructor(private http: HttpClient) {}
 
@@ -128,12 +130,27 @@ export class AdminMetricsService {
     });
   }
 
+  // GET /reservations is paged; follow the X-Next-Cursor header so the statistics see every reservation
   getAllReservations(): Observable<Reservation[]> {
-    return this.http
-      .get<unknown>(`${this.api}/reservations`, {
+    const getPage = (cursor?: string) => {
+      const params: Record<string, string> = { limit: String(this.pageSize) };
+      if (cursor) params['cursor'] = cursor;
+      return this.http.get<unknown>(`${this.api}/reservations?${new URLSearchParams(params).toString()}`, {
         withCredentials: true,
-      })
-      .pipe(map((payload) => this.normalizeReservations(payload)));
+        observe: 'response',
+      });
+    };
+
+    return getPage().pipe(
+      expand((response) => {
+        const nextCursor = response.headers.get('X-Next-Cursor');
+        return nextCursor ? getPage(nextCursor) : EMPTY;
+      }),
+      reduce(
+        (all, response) => all.concat(this.normalizeReservations(response.body)),
+        [] as Reservation[]
+      )
+    );
   }
 
   getBookingStatistics(): Observable<BookingStatistics> {
@@ -1,6 +1,6 @@
 import { HttpClient } from '@angular/common/http';
 import { Injectable } from '@angular/core';
-import { Observable, switchMap } from 'rxjs';
+import { EMPTY, Observable, expand, reduce, switchMap } from 'rxjs';
 import { environment } from '../../../../environments/environment';
 
 export type ReservationStatus = 'PENDING' | 'CONFIRMED' | 'CANCELLED' | 'CHECKED_IN' | 'CHECKED_OUT';
@@ -42,6 +42,8 @@ export type ReservationRequest = {
 @Injectable({ providedIn: 'root' })
 export class ReservationService {
   private readonly api = environment.apiBaseUrl;
+  // Largest page GET /reservations accepts
+  private readonly pageSize = 500;
 
   constructor(private http: HttpClient) {}
 
@@ -51,6 +53,29 @@ export class ReservationService {
     });
   }
 
+  /**
+   * Fetch every page of GET /reservations, following the X-Next-Cursor header until the last page
+   */
+  private getAllPages(queryParams: Record<string, string>): Observable<ReservationResponse[]> {
+    const getPage = (cursor?: string) => {
+      const pageParams: Record<string, string> = { ...queryParams, limit: String(this.pageSize) };
+      if (cursor) pageParams['cursor'] = cursor;
+      const queryString = new URLSearchParams(pageParams).toString();
+      return this.http.get<ReservationResponse[]>(`${this.api}/reservations?${queryString}`, {
+        withCredentials: true,
+        observe: 'response',
+      });
+    };
+
+    return getPage().pipe(
+      expand((response) => {
+        const nextCursor = response.headers.get('X-Next-Cursor');
+        return nextCursor ? getPage(nextCursor) : EMPTY;
+      }),
+      reduce((all, response) => all.concat(response.body ?? []), [] as ReservationResponse[])
+    );
+  }
+
   /**
    * Get all reservations, optionally filtered by userId, hotelId, or roomId
    */
@@ -64,12 +89,7 @@ export class ReservationService {
     if (params?.hotelId) queryParams['hotelId'] = params.hotelId;
     if (params?.roomId) queryParams['roomId'] = params.roomId;
 
-    const queryString = new URLSearchParams(queryParams).toString();
-    const url = `${this.api}/reservations${queryString ? `?${queryString}` : ''}`;
-
-    return this.http.get<ReservationResponse[]>(url, {
-      withCredentials: true,
-    });
+    return this.getAllPages(queryParams);
   }
 
   /**
@@ -104,12 +124,7 @@ export class ReservationService {
       queryParams['endDateTo'] = params.endDateTo;
     }
 
-    const queryString = new URLSearchParams(queryParams).toString();
-    const url = `${this.api}/reservations${queryString ? `?${queryString}` : ''}`;
-
-    return this.http.get<ReservationResponse[]>(url, {
-      withCredentials: true,
-    });
+    return this.getAllPages(queryParams);
   }
 
   /**